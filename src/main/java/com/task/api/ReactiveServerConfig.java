@@ -0,0 +1,35 @@
+package com.task.api;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyRouteProvider;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+
+/**
+ * Embedded server of the reactive runtime.
+ * <p>
+ * Tomcat stays on the classpath for the servlet runtime, and Spring Boot prefers it over Netty when it
+ * picks a reactive server, so the reactive runtime declares the Netty factory itself, configured the
+ * same way as the auto-configured one.
+ * </p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(
+            ObjectProvider<ReactorResourceFactory> resourceFactory,
+            ObjectProvider<NettyRouteProvider> routes,
+            ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        resourceFactory.ifAvailable(factory::setResourceFactory);
+        routes.orderedStream().forEach(factory::addRouteProviders);
+        factory.getServerCustomizers().addAll(serverCustomizers.orderedStream().toList());
+        return factory;
+    }
+}
@@ -3,10 +3,13 @@ package com.task.api.auth;
 import com.task.api.auth.dto.LoginRequest;
 import com.task.api.auth.dto.LoginResponse;
 import com.task.api.auth.dto.RegisterRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
  */
 @RestController
 @RequestMapping
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthController {
 
     private final AuthService authService;
@@ -44,4 +48,15 @@ public class AuthController {
         LoginResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Logouts the authenticated user by revoking the JWT token used for the request.
+     * @param authorization header with the bearer token
+     * @return 204 No content if the token was revoked
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        authService.logout(authorization.substring(7));
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
 }
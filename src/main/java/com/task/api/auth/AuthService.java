@@ -1,14 +1,24 @@
 package com.task.api.auth;
 
 import com.task.api.auth.dto.LoginRequest;
+import com.task.api.common.ConflictException;
+import com.task.api.datasource.ReplicaRoutingDataSource;
+import com.task.api.metrics.RequestMetrics;
+import com.task.api.metrics.RequestMetrics.Phase;
 import com.task.api.auth.dto.LoginResponse;
 import com.task.api.auth.dto.RegisterRequest;
 import com.task.api.user.User;
 import com.task.api.user.UserRepository;
+import com.task.api.security.CustomUserDetailsService;
 import com.task.api.security.JwtService;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.task.api.security.PasswordHasher;
+import com.task.api.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.function.Supplier;
+
 /**
  * Service class for authentication related operations.
  */
@@ -16,46 +26,95 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RequestMetrics requestMetrics;
 
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public AuthService(UserRepository userRepository, PasswordHasher passwordHasher, JwtService jwtService,
+                       CustomUserDetailsService userDetailsService, TokenRevocationService tokenRevocationService,
+                       RequestMetrics requestMetrics) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.requestMetrics = requestMetrics;
     }
 
     /**
-     * Register a user, if login is not occupied
+     * Register a user, if login is not occupied.
+     * Executes a single insert and relies on the unique constraint of the login,
+     * so concurrent registrations of the same login cannot both succeed.
+     * Other constraint violations are not reported as a conflict.
      * @param request data for registration
-     * @throws RuntimeException if user login exists
+     * @throws ConflictException if user login exists
+     * @throws com.task.api.common.ServiceBusyException if the password hashing queue is full
      */
     public void register(RegisterRequest request) {
-        if (userRepository.findByLogin(request.getLogin()).isPresent()) {
-            throw new RuntimeException("User already exists.");
-        }
         User user = new User();
         user.setLogin(request.getLogin());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        userRepository.save(user);
+        user.setPassword(hashing("encode", () -> passwordHasher.encode(request.getPassword())));
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (ReplicaRoutingDataSource.onPrimary(() -> userRepository.existsByLogin(user.getLogin()))) {
+                throw new ConflictException("User already exists.");
+            }
+            throw e;
+        }
+        userDetailsService.evict(user.getLogin());
     }
 
     /**
-     * Logins a user and generate JWT token for further authentication
+     * Logins a user and generate JWT token for further authentication.
+     * The user is looked up on a replica; a login missing there is looked up again on the primary,
+     * so users can log in right after registering even if the replicas lag behind.
      * @param request login data of a user
      * @return LoginResponse with JWT token
      * @throws RuntimeException if login data is incorrect
+     * @throws com.task.api.common.ServiceBusyException if the password hashing queue is full
      */
     public LoginResponse login(LoginRequest request) {
         User user = userRepository.findByLogin(request.getLogin())
+                .or(() -> ReplicaRoutingDataSource.onPrimary(() -> userRepository.findByLogin(request.getLogin())))
                 .orElseThrow(() -> new RuntimeException("Invalid username or password."));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!hashing("matches", () -> passwordHasher.matches(request.getPassword(), user.getPassword()))) {
             throw  new RuntimeException("Invalid username or password.");
         }
 
-        String token = jwtService.generateToken(user.getLogin());
+        String token = jwtService.generateToken(user.getId(), user.getLogin());
         return new LoginResponse(token);
     }
+
+    /**
+     * Logs out the owner of the given token by revoking it until it expires.
+     * @param token the JWT token to revoke
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or invalid
+     */
+    public void logout(String token) {
+        Claims claims = jwtService.extractClaims(token);
+        if (claims.getId() != null) {
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+        }
+    }
+
+    /**
+     * Runs a password hashing call and records its time, including the wait for the hashing pool.
+     */
+    private <T> T hashing(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            requestMetrics.record(RequestMetrics.PASSWORD_HASHING, Phase.PASSWORD_HASHING, start,
+                    "operation", operation, "outcome", outcome);
+        }
+    }
 }
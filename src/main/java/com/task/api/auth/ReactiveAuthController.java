@@ -0,0 +1,58 @@
+package com.task.api.auth;
+
+import com.task.api.auth.dto.LoginRequest;
+import com.task.api.auth.dto.LoginResponse;
+import com.task.api.auth.dto.RegisterRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link AuthController}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+
+    /**
+     * Registers new user.
+     * @param request with data of a new user
+     * @return completion; 204 No content if registration was successful
+     */
+    @PostMapping("/register")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> register(@RequestBody RegisterRequest request) {
+        return authService.register(request);
+    }
+
+    /**
+     * Logins a user.
+     * @param request with login data
+     * @return JWT token, if login attempt was successful
+     */
+    @PostMapping("/login")
+    public Mono<LoginResponse> login(@RequestBody LoginRequest request) {
+        return authService.login(request);
+    }
+
+    /**
+     * Logouts the authenticated user by revoking the JWT token used for the request.
+     * @param authorization header with the bearer token
+     * @return completion; 204 No content if the token was revoked
+     */
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        return authService.logout(authorization.substring(7));
+    }
+}
@@ -0,0 +1,104 @@
+package com.task.api.auth;
+
+import com.task.api.auth.dto.LoginRequest;
+import com.task.api.auth.dto.LoginResponse;
+import com.task.api.auth.dto.RegisterRequest;
+import com.task.api.common.ConflictException;
+import com.task.api.common.UuidV7;
+import com.task.api.metrics.RequestMetrics;
+import com.task.api.metrics.RequestMetrics.Phase;
+import com.task.api.security.CustomUserDetailsService;
+import com.task.api.security.JwtService;
+import com.task.api.security.PasswordHasher;
+import com.task.api.security.TokenRevocationService;
+import com.task.api.user.ReactiveUserRepository;
+import com.task.api.user.User;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of {@link AuthService} for the reactive runtime.
+ * Password hashing runs on the {@link PasswordHasher} pool and the event loop only awaits its result.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAuthService {
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RequestMetrics requestMetrics;
+
+    /**
+     * Register a user, if login is not occupied.
+     * @param request data for registration
+     * @return completion, or {@link ConflictException} if user login exists
+     */
+    public Mono<Void> register(RegisterRequest request) {
+        return hashing("encode", () -> passwordHasher.encodeAsync(request.getPassword()))
+                .flatMap(encodedPassword -> {
+                    User user = new User();
+                    user.setId(UuidV7.generate());
+                    user.setLogin(request.getLogin());
+                    user.setPassword(encodedPassword);
+                    return userRepository.insert(user);
+                })
+                .onErrorMap(DataIntegrityViolationException.class, e -> new ConflictException("User already exists."))
+                .doOnSuccess(ignored -> userDetailsService.evict(request.getLogin()));
+    }
+
+    /**
+     * Logins a user and generate JWT token for further authentication.
+     * @param request login data of a user
+     * @return LoginResponse with JWT token, or {@link RuntimeException} if login data is incorrect
+     */
+    public Mono<LoginResponse> login(LoginRequest request) {
+        return userRepository.findByLogin(request.getLogin())
+                .flatMap(user -> hashing("matches", () -> passwordHasher.matchesAsync(request.getPassword(), user.getPassword()))
+                        .filter(Boolean::booleanValue)
+                        .map(matches -> new LoginResponse(jwtService.generateToken(user.getId(), user.getLogin()))))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Invalid username or password.")));
+    }
+
+    /**
+     * Logs out the owner of the given token by revoking it until it expires.
+     * The revocation is stored through JPA, so it runs on the bounded elastic scheduler.
+     * @param token the JWT token to revoke
+     * @return completion, or {@link io.jsonwebtoken.JwtException} if the token is malformed or invalid
+     */
+    public Mono<Void> logout(String token) {
+        return Mono.fromRunnable(() -> {
+                    Claims claims = jwtService.extractClaims(token);
+                    if (claims.getId() != null) {
+                        tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    /**
+     * Awaits a password hashing call and records its time, including the wait for the hashing pool.
+     */
+    private <T> Mono<T> hashing(String operation, Supplier<CompletableFuture<T>> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.fromFuture(call)
+                    .doOnSuccess(result -> requestMetrics.record(RequestMetrics.PASSWORD_HASHING,
+                            Phase.PASSWORD_HASHING, start, "operation", operation, "outcome", "success"))
+                    .doOnError(e -> requestMetrics.record(RequestMetrics.PASSWORD_HASHING,
+                            Phase.PASSWORD_HASHING, start, "operation", operation, "outcome", "error"));
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.task.api.auth;
+
+import com.task.api.auth.dto.ProvisioningResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST controller for bulk provisioning of users, available to administrators only.
+ */
+@RestController
+@RequestMapping("/admin/users")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class UserProvisioningController {
+
+    private final UserProvisioningService userProvisioningService;
+
+    /**
+     * Creates users from a JSON array of registration requests, streamed from the request body.
+     * @param request HTTP request with the JSON array body
+     * @return 200 OK with the number of created users and the skipped array elements
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ProvisioningResponse provision(HttpServletRequest request) throws IOException {
+        return userProvisioningService.provision(request.getInputStream());
+    }
+}
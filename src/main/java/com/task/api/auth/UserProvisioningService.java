@@ -0,0 +1,195 @@
+package com.task.api.auth;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.api.auth.dto.ProvisioningResponse;
+import com.task.api.auth.dto.RegisterRequest;
+import com.task.api.auth.dto.SkippedUser;
+import com.task.api.common.BadRequestException;
+import com.task.api.common.ConflictException;
+import com.task.api.datasource.ReplicaRoutingDataSource;
+import com.task.api.security.PasswordHasher;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Service for bulk provisioning of users.
+ * <p>
+ * Reads users from a streamed JSON array in chunks, so the whole request is never held in memory.
+ * Passwords of a chunk are hashed on the {@link PasswordHasher} pool, with at most
+ * {@code security.provisioning.hashing-parallelism} hashes in flight, so logins keep their place in its queue.
+ * The chunk is then inserted in a single transaction with JDBC batching. Elements without a login or password, and logins that
+ * already exist or repeat within the request, are skipped and reported by their index in the array.
+ * </p>
+ */
+@Service
+public class UserProvisioningService {
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int hashingParallelism;
+
+    public UserProvisioningService(UserRepository userRepository, PasswordHasher passwordHasher,
+                                   TransactionTemplate transactionTemplate, EntityManager entityManager,
+                                   ObjectMapper objectMapper,
+                                   @Value("${security.provisioning.chunk-size:1000}") int chunkSize,
+                                   @Value("${security.provisioning.hashing-parallelism:0}") int hashingParallelism) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.hashingParallelism = hashingParallelism > 0 ? hashingParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Creates users from a JSON array of {@link RegisterRequest}.
+     * @param body stream with the JSON array
+     * @return number of created users and array elements that were skipped
+     * @throws IOException if the stream cannot be read
+     * @throws BadRequestException if the body is not a JSON array of users; chunks before the malformed element stay created
+     * @throws ConflictException if a login was registered concurrently; chunks before it stay created
+     * @throws com.task.api.common.ServiceBusyException if the password hashing queue is full; chunks before it stay created
+     */
+    public ProvisioningResponse provision(InputStream body) throws IOException {
+        int created = 0;
+        int index = 0;
+        List<SkippedUser> skipped = new ArrayList<>();
+        Set<String> seenLogins = new HashSet<>();
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("Expected a JSON array of users.");
+            }
+
+            List<Element> chunk = new ArrayList<>(chunkSize);
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken(), index++) {
+                if (token == null) {
+                    throw new BadRequestException("The JSON array of users is not closed. "
+                            + created + " users were created before its end.");
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new BadRequestException("Expected a user object at index " + index + " of the JSON array. "
+                            + created + " users were created before it.");
+                }
+                RegisterRequest request = objectMapper.readValue(parser, RegisterRequest.class);
+                if (!StringUtils.hasText(request.getLogin()) || !StringUtils.hasText(request.getPassword())) {
+                    skipped.add(new SkippedUser(index, request.getLogin(), "missing login or password"));
+                    continue;
+                }
+                if (!seenLogins.add(request.getLogin())) {
+                    skipped.add(new SkippedUser(index, request.getLogin(), "repeated in request"));
+                    continue;
+                }
+                chunk.add(new Element(index, request));
+                if (chunk.size() == chunkSize) {
+                    created += insertChunk(chunk, skipped, created);
+                    chunk.clear();
+                }
+            }
+            created += insertChunk(chunk, skipped, created);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("The JSON array of users is malformed at index " + index + ". "
+                    + created + " users were created before it.");
+        }
+        return new ProvisioningResponse(created, skipped);
+    }
+
+    private int insertChunk(List<Element> chunk, List<SkippedUser> skipped, int createdBefore) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Set<String> existing = new HashSet<>(userRepository.findExistingLogins(
+                chunk.stream().map(element -> element.request().getLogin()).toList()));
+
+        List<RegisterRequest> toCreate = new ArrayList<>(chunk.size());
+        for (Element element : chunk) {
+            if (existing.contains(element.request().getLogin())) {
+                skipped.add(new SkippedUser(element.index(), element.request().getLogin(), "already exists"));
+            } else {
+                toCreate.add(element.request());
+            }
+        }
+        if (toCreate.isEmpty()) {
+            return 0;
+        }
+
+        List<String> hashes = hashAll(toCreate);
+        List<User> users = new ArrayList<>(toCreate.size());
+        for (int i = 0; i < toCreate.size(); i++) {
+            User user = new User();
+            user.setLogin(toCreate.get(i).getLogin());
+            user.setPassword(hashes.get(i));
+            users.add(user);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                userRepository.flush();
+            });
+        } catch (DataIntegrityViolationException e) {
+            List<String> logins = users.stream().map(User::getLogin).toList();
+            if (ReplicaRoutingDataSource.onPrimary(() -> userRepository.findExistingLogins(logins)).isEmpty()) {
+                throw e;
+            }
+            throw new ConflictException("User already exists. " + createdBefore + " users were created before the conflict.");
+        } finally {
+            entityManager.clear();
+        }
+        return users.size();
+    }
+
+    private List<String> hashAll(List<RegisterRequest> requests) {
+        List<String> hashes = new ArrayList<>(requests.size());
+        Deque<CompletableFuture<String>> inFlight = new ArrayDeque<>(hashingParallelism);
+        for (RegisterRequest request : requests) {
+            if (inFlight.size() == hashingParallelism) {
+                hashes.add(await(inFlight.removeFirst()));
+            }
+            inFlight.addLast(passwordHasher.encodeAsync(request.getPassword()));
+        }
+        while (!inFlight.isEmpty()) {
+            hashes.add(await(inFlight.removeFirst()));
+        }
+        return hashes;
+    }
+
+    private static String await(CompletableFuture<String> hash) {
+        try {
+            return hash.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed.", e.getCause());
+        }
+    }
+
+    private record Element(int index, RegisterRequest request) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.task.api.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ProvisioningResponse {
+    private int created;
+    private List<SkippedUser> skipped;
+}
@@ -0,0 +1,12 @@
+package com.task.api.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SkippedUser {
+    private int index;
+    private String login;
+    private String reason;
+}
@@ -0,0 +1,62 @@
+package com.task.api.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps application exceptions to HTTP responses.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * @param e exception thrown by admission control
+     * @return 503 Service Unavailable with a Retry-After header in seconds
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<String> handleServiceBusy(ServiceBusyException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(e.getMessage());
+    }
+
+    /**
+     * @param e exception signaling malformed request data
+     * @return 400 Bad Request with the exception message
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<String> handleBadRequest(BadRequestException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * @param e exception signaling a conflict with existing data
+     * @return 409 Conflict with the exception message
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<String> handleConflict(ConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    /**
+     * @param e exception signaling a missing resource
+     * @return 404 Not Found with the exception message
+     */
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<String> handleNotFound(NotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    /**
+     * @param e exception signaling state that is no longer available
+     * @return 410 Gone with the exception message
+     */
+    @ExceptionHandler(GoneException.class)
+    public ResponseEntity<String> handleGone(GoneException e) {
+        return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+    }
+}
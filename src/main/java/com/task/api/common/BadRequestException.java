@@ -0,0 +1,12 @@
+package com.task.api.common;
+
+/**
+ * Thrown when request data such as a limit, cursor or token is malformed or out of range.
+ * Mapped to 400 Bad Request.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.task.api.common;
+
+/**
+ * Thrown when a request conflicts with the current state of a resource.
+ * Mapped to 409 Conflict.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
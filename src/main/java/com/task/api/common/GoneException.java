@@ -0,0 +1,12 @@
+package com.task.api.common;
+
+/**
+ * Thrown when the requested state is no longer available, e.g. a sync token older than the kept history.
+ * Mapped to 410 Gone.
+ */
+public class GoneException extends RuntimeException {
+
+    public GoneException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,218 @@
+package com.task.api.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Collects entries submitted by many threads and writes them in groups on a single flusher thread.
+ * <p>
+ * A group is written as soon as it reaches {@code maxGroupSize} entries or {@code linger} after its
+ * first entry arrived, whichever comes first. {@link #submit(Object)} returns only after the group
+ * containing the entry was written, so callers keep the durability of a synchronous write while
+ * paying for one commit per group instead of one per entry. If writing a group fails, its entries
+ * are retried one by one, so a single bad entry fails only its own caller.
+ * </p>
+ * <p>
+ * The queue is bounded; when it is full, callers are rejected right away with {@link ServiceBusyException}.
+ * </p>
+ * @param <T> type of the entries
+ */
+public class GroupCommitter<T> implements AutoCloseable {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BlockingQueue<Pending<T>> queue;
+    private final Consumer<List<T>> writer;
+    private final int maxGroupSize;
+    private final long lingerNanos;
+    private final Duration retryAfter;
+    private final Thread flusher;
+    private final LongAdder groupCount = new LongAdder();
+    private final LongAdder entryCount = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private volatile int lastGroupSize;
+    private volatile boolean running = true;
+
+    /**
+     * Starts the flusher thread.
+     * @param name name of the flusher thread
+     * @param maxGroupSize maximum number of entries written together
+     * @param linger how long the first entry of a group waits for more entries
+     * @param queueCapacity maximum number of entries waiting to be written
+     * @param retryAfter suggested retry delay of rejected callers
+     * @param writer writes a group of entries, typically in one transaction
+     */
+    public GroupCommitter(String name, int maxGroupSize, Duration linger, int queueCapacity, Duration retryAfter,
+                          Consumer<List<T>> writer) {
+        if (maxGroupSize < 1) {
+            throw new IllegalArgumentException("Group size must be positive.");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = writer;
+        this.maxGroupSize = maxGroupSize;
+        this.lingerNanos = linger.toNanos();
+        this.retryAfter = retryAfter;
+        this.flusher = new Thread(this::run, name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues the entry and waits until the group containing it was written.
+     * @param entry to write
+     * @throws ServiceBusyException if the queue is full or the committer is closed
+     * @throws IllegalStateException if interrupted while waiting; the entry may still be written
+     */
+    public void submit(T entry) {
+        Pending<T> pending = new Pending<>(entry, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            rejectedCount.increment();
+            throw new ServiceBusyException("Too many write requests, try again later.", retryAfter);
+        }
+        if (!running && queue.remove(pending)) {
+            throw new ServiceBusyException("Shutting down, try again later.", retryAfter);
+        }
+
+        try {
+            pending.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the group commit.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Group commit failed.", e.getCause());
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return number of groups written so far
+     */
+    public long getGroupCount() {
+        return groupCount.sum();
+    }
+
+    /**
+     * @return number of entries written so far, including failed ones
+     */
+    public long getEntryCount() {
+        return entryCount.sum();
+    }
+
+    public int getLastGroupSize() {
+        return lastGroupSize;
+    }
+
+    /**
+     * @return total time spent writing groups, in nanoseconds
+     */
+    public long getFlushNanos() {
+        return flushNanos.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Stops accepting entries, writes the ones already queued and stops the flusher thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Pending<T> pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(
+                    new ServiceBusyException("Shutting down, try again later.", retryAfter));
+        }
+    }
+
+    private void run() {
+        List<Pending<T>> group = new ArrayList<>(maxGroupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<T> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collect(group, System.nanoTime() + lingerNanos);
+                write(group);
+            } catch (InterruptedException e) {
+                group.forEach(pending -> pending.result().completeExceptionally(e));
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void collect(List<Pending<T>> group, long deadline) throws InterruptedException {
+        while (group.size() < maxGroupSize) {
+            queue.drainTo(group, maxGroupSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxGroupSize || remaining <= 0) {
+                return;
+            }
+            Pending<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void write(List<Pending<T>> group) {
+        long start = System.nanoTime();
+        RuntimeException failure = null;
+        try {
+            writer.accept(group.stream().map(Pending::entry).toList());
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        // recorded before the submitters are released, so they observe their own group in the metrics
+        flushNanos.add(System.nanoTime() - start);
+        groupCount.increment();
+        entryCount.add(group.size());
+        lastGroupSize = group.size();
+
+        if (failure == null) {
+            group.forEach(pending -> pending.result().complete(null));
+        } else if (group.size() == 1) {
+            group.get(0).result().completeExceptionally(failure);
+        } else {
+            group.forEach(this::writeAlone);
+        }
+    }
+
+    private void writeAlone(Pending<T> pending) {
+        try {
+            writer.accept(List.of(pending.entry()));
+            pending.result().complete(null);
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record Pending<T>(T entry, CompletableFuture<Void> result) {
+    }
+}
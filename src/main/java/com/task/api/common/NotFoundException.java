@@ -0,0 +1,12 @@
+package com.task.api.common;
+
+/**
+ * Thrown when the requested resource does not exist or is not visible to the caller.
+ * Mapped to 404 Not Found.
+ */
+public class NotFoundException extends RuntimeException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.task.api.common;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is rejected by admission control because a bounded resource is saturated.
+ * Mapped to 503 Service Unavailable with a {@code Retry-After} header.
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
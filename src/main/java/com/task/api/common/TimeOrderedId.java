@@ -0,0 +1,23 @@
+package com.task.api.common;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks a {@link java.util.UUID} identifier that is assigned a time-ordered {@link UuidV7} on persist.
+ * <p>
+ * Consecutive inserts get increasing keys, so new rows are appended to the right edge of the
+ * clustered primary key index instead of being spread over the whole B-tree like random UUIDs.
+ * </p>
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TimeOrderedId {
+}
@@ -0,0 +1,48 @@
+package com.task.api.common;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered UUIDs of version 7 (RFC 9562).
+ * <p>
+ * The 48 most significant bits hold the Unix epoch milliseconds, followed by the version and a
+ * 12-bit counter; the remaining 62 bits after the variant are random. The counter starts at a random
+ * value in the lower half of its range every millisecond and is incremented for ids generated within
+ * the same millisecond, moving the timestamp forward when it overflows. Ids of one process are therefore
+ * strictly increasing, even if the system clock steps back, and compare in creation order both as
+ * {@link UUID}s and as big-endian bytes, e.g. in a {@code BINARY(16)} column.
+ * </p>
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /** Last issued timestamp shifted left by {@link #COUNTER_BITS}, or-ed with the counter. */
+    private static final AtomicLong last = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    /**
+     * @return a new UUIDv7 greater than every id previously generated by this process
+     */
+    public static UUID generate() {
+        return generate(System.currentTimeMillis());
+    }
+
+    static UUID generate(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long seed = random.nextLong(COUNTER_MASK >> 1);
+        long next = last.updateAndGet(previous ->
+                Math.max(previous + 1, (epochMillis << COUNTER_BITS) | seed));
+
+        long timestamp = next >>> COUNTER_BITS;
+        long counter = next & COUNTER_MASK;
+        long msb = (timestamp << 16) | (0x7L << 12) | counter;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
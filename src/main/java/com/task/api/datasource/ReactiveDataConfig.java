@@ -0,0 +1,61 @@
+package com.task.api.datasource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * R2DBC access of the reactive runtime, configured by {@code spring.r2dbc.*}.
+ * <p>
+ * The connection pool and its transaction manager are not exposed as beans: a connection factory bean
+ * would make the JDBC data source back off, and a second transaction manager would compete with JPA's
+ * for {@code @Transactional}. Reactive code demarcates its transactions with the {@link TransactionalOperator}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDataConfig implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveDataConfig(@Value("${spring.r2dbc.url}") String url,
+                              @Value("${spring.r2dbc.username:}") String username,
+                              @Value("${spring.r2dbc.password:}") String password,
+                              @Value("${spring.r2dbc.pool.max-size:50}") int maxSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        this.connectionPool = new ConnectionPool(
+                ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                        .maxSize(maxSize)
+                        .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,69 @@
+package com.task.api.datasource;
+
+import com.task.api.items.ItemsChangedEvent;
+import com.task.api.security.ExpiringCache;
+import com.task.api.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers users who recently committed a write, so their reads are kept on the primary database
+ * until the replicas have caught up with it.
+ * <p>
+ * The window starts when the write is committed. Users are tracked in a bounded cache; if it is full,
+ * further writers are not pinned and may read from a replica that is up to its replication lag behind.
+ * </p>
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final ExpiringCache<UUID, Boolean> recentWriters;
+    private final long windowMillis;
+    private final Clock clock;
+
+    @Autowired
+    public ReadYourWritesTracker(@Value("${datasource.replicas.read-your-writes-window:5s}") Duration window,
+                                 @Value("${datasource.replicas.read-your-writes-size:100000}") int maxSize) {
+        this(window, maxSize, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(Duration window, int maxSize, Clock clock) {
+        this.recentWriters = new ExpiringCache<>(maxSize, clock);
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Starts the read-your-writes window of a user.
+     * @param userId id of the user who committed a write
+     */
+    public void recordWrite(UUID userId) {
+        if (windowMillis > 0) {
+            recentWriters.put(userId, Boolean.TRUE, clock.millis() + windowMillis);
+        }
+    }
+
+    /**
+     * @return true if the authenticated user of the current thread committed a write within the window
+     */
+    public boolean isCurrentUserPinned() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null
+                && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getId() != null
+                && recentWriters.get(principal.getId()) != null;
+    }
+
+    @TransactionalEventListener
+    void onItemsChanged(ItemsChangedEvent event) {
+        recordWrite(event.ownerId());
+    }
+}
@@ -0,0 +1,73 @@
+package com.task.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with a {@link ReplicaRoutingDataSource} when
+ * {@code datasource.replicas.urls} lists at least one replica.
+ * The primary pool is configured by {@code spring.datasource.*}; every pool applies {@code spring.datasource.hikari.*}.
+ * Replica pools wait at most {@code datasource.replicas.connection-timeout} for a connection, so a read
+ * falls back to the primary quickly when a replica is down or its pool is exhausted.
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replicas.urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties, Environment environment, ReadYourWritesTracker readYourWrites,
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replicas.connection-timeout:500ms}") Duration connectionTimeout,
+            @Value("${datasource.replicas.health-check-timeout:1s}") Duration healthCheckTimeout) {
+        HikariDataSource primary = pool(properties, environment, "primary",
+                properties.determineUrl(), properties.determineUsername(), properties.determinePassword());
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        List<DataSource> healthChecks = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = pool(properties, environment, "replica-" + i, urls.get(i), username, password);
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replicas.add(replica);
+            healthChecks.add(new DriverManagerDataSource(urls.get(i), username, password));
+        }
+        int timeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        return new ReplicaRoutingDataSource(primary, replicas, healthChecks, readYourWrites, timeoutSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment, String name,
+                                         String url, String username, String password) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        return pool;
+    }
+}
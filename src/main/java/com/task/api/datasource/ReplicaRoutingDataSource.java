@@ -0,0 +1,173 @@
+package com.task.api.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Data source that sends read-only transactions to replica pools and everything else to the primary pool.
+ * <p>
+ * A read-only transaction goes to the next healthy replica in turn, unless the authenticated user is within
+ * the read-your-writes window of {@link ReadYourWritesTracker} or the call runs inside {@link #onPrimary}.
+ * A replica that fails a health check or a connection attempt is skipped until it passes a health check
+ * again; without healthy replicas all reads fall back to the primary.
+ * Health checks open their own connections instead of borrowing from the replica pools, so they neither
+ * take connections away from requests nor wait behind them for an exhausted pool.
+ * </p>
+ * <p>
+ * The read-only flag of a transaction is known only after the transaction manager has asked for a
+ * connection, so this data source has to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers the choice
+ * until the first statement.
+ * </p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final int healthCheckTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary pool of the primary database
+     * @param replicas pools of the replica databases
+     * @param healthChecks unpooled data sources of the same replicas, in the same order, used for health checks
+     * @param readYourWrites tracker of users whose reads stay on the primary
+     * @param healthCheckTimeoutSeconds time a replica has to answer a health check
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, List<DataSource> healthChecks,
+                                    ReadYourWritesTracker readYourWrites, int healthCheckTimeoutSeconds) {
+        if (replicas.size() != healthChecks.size()) {
+            throw new IllegalArgumentException("Every replica needs a health check data source.");
+        }
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(index -> new Replica(replicas.get(index), healthChecks.get(index), index))
+                .toList();
+        this.readYourWrites = readYourWrites;
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+    }
+
+    /**
+     * Runs the given action with all of its transactions on the primary, e.g. to read a row
+     * that may have been written too recently to be on the replicas yet.
+     * @param action to run; must start its own transaction
+     * @return result of the action
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = routeToReplica() ? nextHealthyReplica() : null;
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Replica {} unavailable, reading from the primary until it recovers", replica.index, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Validates a new connection to every replica and marks it healthy or unhealthy accordingly.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval:5s}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.healthCheck.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.info("Replica {} is {}", replica.index, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * @return number of replicas that passed the last health check
+     */
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        closeIfPossible(primary);
+        for (Replica replica : replicas) {
+            closeIfPossible(replica.dataSource);
+        }
+    }
+
+    private boolean routeToReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && FORCE_PRIMARY.get() == null
+                && !readYourWrites.isCurrentUserPinned();
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private final DataSource healthCheck;
+        private final int index;
+        private volatile boolean healthy = true;
+
+        Replica(DataSource dataSource, DataSource healthCheck, int index) {
+            this.dataSource = dataSource;
+            this.healthCheck = healthCheck;
+            this.index = index;
+        }
+    }
+}
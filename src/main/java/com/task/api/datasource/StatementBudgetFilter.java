@@ -0,0 +1,64 @@
+package com.task.api.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the statements of every request and logs the requests that execute more than
+ * {@code datasource.statements.budget} statements or repeat one statement
+ * {@code datasource.statements.repeated-threshold} times, the usual sign of an N+1 query pattern.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "datasource.statements.counting", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final int budget;
+    private final int repeatedThreshold;
+
+    public StatementBudgetFilter(@Value("${datasource.statements.budget:10}") int budget,
+                                 @Value("${datasource.statements.repeated-threshold:5}") int repeatedThreshold) {
+        this.budget = budget;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementCounter.Counts counts = StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCounter.stop(counts);
+            check(request, counts);
+        }
+    }
+
+    private void check(HttpServletRequest request, StatementCounter.Counts counts) {
+        Map<String, Integer> repeated = counts.getRepeated(repeatedThreshold);
+        if (!repeated.isEmpty()) {
+            log.warn("{} {} repeated statements, likely N+1 queries: {}",
+                    request.getMethod(), request.getRequestURI(), repeated);
+        }
+        if (counts.getTotal() > budget) {
+            log.warn("{} {} executed {} statements, over the budget of {}: {}",
+                    request.getMethod(), request.getRequestURI(), counts.getTotal(), budget, counts);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.task.api.datasource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the JDBC statements executed by the current thread within a {@link #start()} / {@link #stop} scope.
+ * Statements are counted by {@link StatementCountingDataSource}; nested scopes also count towards their parents.
+ * Statements run on other threads, e.g. by group commit or while streaming a response, are not counted.
+ */
+public final class StatementCounter {
+
+    /** Distinct statements tracked per scope; further statements are counted in the total only. */
+    static final int MAX_DISTINCT_STATEMENTS = 64;
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Opens a counting scope on the current thread.
+     * @return counts of the scope, to be passed to {@link #stop}
+     */
+    public static Counts start() {
+        Counts counts = new Counts(CURRENT.get());
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /**
+     * Closes the given scope, making its parent the current one again.
+     * @param counts counts returned by {@link #start()}
+     */
+    public static void stop(Counts counts) {
+        if (counts.parent != null) {
+            CURRENT.set(counts.parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    static void record(String sql) {
+        for (Counts counts = CURRENT.get(); counts != null; counts = counts.parent) {
+            counts.add(sql);
+        }
+    }
+
+    public static final class Counts {
+
+        private final Counts parent;
+        private final Map<String, Integer> bySql = new LinkedHashMap<>();
+        private int total;
+
+        private Counts(Counts parent) {
+            this.parent = parent;
+        }
+
+        private void add(String sql) {
+            total++;
+            if (bySql.size() < MAX_DISTINCT_STATEMENTS || bySql.containsKey(sql)) {
+                bySql.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * @return executions of every distinct statement, in the order of their first execution
+         */
+        public Map<String, Integer> getBySql() {
+            return Map.copyOf(bySql);
+        }
+
+        /**
+         * Statements executed at least {@code threshold} times, typically the lazy loads of an N+1 query pattern.
+         * @param threshold minimal number of executions
+         * @return executions of the repeated statements
+         */
+        public Map<String, Integer> getRepeated(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            bySql.forEach((sql, count) -> {
+                if (count >= threshold) {
+                    repeated.put(sql, count);
+                }
+            });
+            return repeated;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder().append(total).append(" statements");
+            bySql.forEach((sql, count) -> text.append(System.lineSeparator()).append(count).append(" x ").append(sql));
+            return text.toString();
+        }
+    }
+}
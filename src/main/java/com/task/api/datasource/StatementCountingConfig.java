@@ -0,0 +1,37 @@
+package com.task.api.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's data source in a {@link StatementCountingDataSource} unless
+ * {@code datasource.statements.counting} is false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.statements.counting", matchIfMissing = true)
+public class StatementCountingConfig {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Wraps only the bean used by JPA, so that pools behind a {@link ReplicaRoutingDataSource} are not counted twice.
+     * @return post processor wrapping the data source
+     */
+    @Bean
+    static BeanPostProcessor statementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
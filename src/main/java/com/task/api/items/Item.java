@@ -1,24 +1,51 @@
 package com.task.api.items;
 
+import com.task.api.common.TimeOrderedId;
 import com.task.api.user.User;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
+import java.time.Instant;
 import java.util.UUID;
 
-
-@Data
+/**
+ * Compares by identity like {@link User}; the lazy owner is left out of {@code toString}.
+ */
+@Getter
+@Setter
+@ToString
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        @Index(name = "idx_items_owner_id_id", columnList = "owner_id, id"),
+        @Index(name = "idx_items_owner_id_seq", columnList = "owner_id, seq"),
+        @Index(name = "idx_items_deleted_at", columnList = "deleted_at")
+})
 public class Item {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedId
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
     private UUID id;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
 
     private String name;
+
+    /** Version of the owner's items at the last change of this item, see {@link ItemStatsService}. */
+    @Column(nullable = false)
+    private long seq;
+
+    /** Tombstone kept for delta sync until it is purged. */
+    @Column(nullable = false)
+    private boolean deleted;
+
+    private Instant deletedAt;
 }
@@ -0,0 +1,12 @@
+package com.task.api.items;
+
+import java.util.UUID;
+
+/**
+ * Item row changed since a sync token, as read for delta sync.
+ * @param id id of the item
+ * @param name name of the item
+ * @param deleted whether the row is a tombstone
+ */
+public record ItemChange(UUID id, String name, boolean deleted) {
+}
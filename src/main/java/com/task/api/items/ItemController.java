@@ -1,44 +1,186 @@
 package com.task.api.items;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.task.api.items.dto.CreateItemRequest;
+import com.task.api.items.dto.ItemChanges;
+import com.task.api.items.dto.ItemCountResponse;
+import com.task.api.items.dto.ItemPage;
 import com.task.api.items.dto.ItemResponse;
+import com.task.api.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * REST controller for managing users' items.
  */
 @RestController
 @RequestMapping("/items")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemStatsService itemStatsService;
+    private final ItemSearchService itemSearchService;
+    private final ItemEventBroadcaster itemEventBroadcaster;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new item for the authenticated user.
      * @param request contains new item's name
-     * @param authentication object providing the user's login
+     * @param principal authenticated user providing the owner's id
      */
     @PostMapping
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void createItem(@RequestBody CreateItemRequest request, Authentication authentication) {
-        String login = authentication.getName();
-        itemService.createItem(request.getName(), login);
+    public void createItem(@RequestBody CreateItemRequest request, @AuthenticationPrincipal UserPrincipal principal) {
+        itemService.createItem(request.getName(), principal.getId());
+    }
+
+    /**
+     * Creates new items for the authenticated user in a single batch.
+     * @param requests contain new items' names
+     * @param principal authenticated user providing the owner's id
+     * @return ids of the created items, in the order of the requests
+     */
+    @PostMapping("/batch")
+    public List<UUID> createItems(@RequestBody List<CreateItemRequest> requests,
+                                  @AuthenticationPrincipal UserPrincipal principal) {
+        List<String> names = requests.stream()
+                .map(CreateItemRequest::getName)
+                .toList();
+        return itemService.createItems(names, principal.getId());
     }
 
     /**
      * Retrieves all items owned by authenticated user.
-     * @param authentication object providing the user's login
-     * @return list of items owned by user
+     * The response carries a strong {@code ETag} of the owner's item version; a request whose
+     * {@code If-None-Match} still matches it is answered with 304 Not Modified without reading the items.
+     * The tag is resolved before the items, so it is never newer than the list it is sent with.
+     * @param principal authenticated user providing the owner's id
+     * @param request used to evaluate the conditional headers
+     * @return list of items owned by user, or null if the response was completed as 304 Not Modified
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<ItemResponse> getItems(@AuthenticationPrincipal UserPrincipal principal, WebRequest request) {
+        if (request.checkNotModified(itemStatsService.getETag(principal.getId()))) {
+            return null;
+        }
+        return itemService.getItemsForUser(principal.getId());
+    }
+
+    /**
+     * Retrieves one page of items owned by authenticated user.
+     * @param limit maximum number of items on the page
+     * @param cursor value of {@code nextCursor} from the previous page; omitted for the first page
+     * @param principal authenticated user providing the owner's id
+     * @return page of items with the cursor of the next page, which is null on the last page
+     */
+    @GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ItemPage getItemsPage(@RequestParam int limit,
+                                 @RequestParam(required = false) String cursor,
+                                 @AuthenticationPrincipal UserPrincipal principal) {
+        return itemService.getItemsPage(principal.getId(), limit, cursor);
+    }
+
+    /**
+     * Retrieves the items of authenticated user changed since a previous sync.
+     * @param since {@code syncToken} of the previous sync; empty for the initial sync, which returns all items
+     * @param principal authenticated user providing the owner's id
+     * @return created items, ids of deleted items and the token of the next sync
+     */
+    @GetMapping(params = "since", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ItemChanges getItemChanges(@RequestParam String since, @AuthenticationPrincipal UserPrincipal principal) {
+        return itemService.getChangesSince(principal.getId(), since);
+    }
+
+    /**
+     * Deletes an item owned by authenticated user.
+     * @param id id of the item
+     * @param principal authenticated user providing the owner's id
+     */
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteItem(@PathVariable UUID id, @AuthenticationPrincipal UserPrincipal principal) {
+        itemService.deleteItem(id, principal.getId());
+    }
+
+    /**
+     * Returns the number of items owned by authenticated user.
+     * The count is maintained alongside every item write, so no items are counted per request.
+     * @param principal authenticated user providing the owner's id
+     * @return number of items owned by user
+     */
+    @GetMapping("/count")
+    public ItemCountResponse countItems(@AuthenticationPrincipal UserPrincipal principal) {
+        return new ItemCountResponse(itemService.countItemsForUser(principal.getId()));
+    }
+
+    /**
+     * Searches items owned by authenticated user by name, ignoring case.
+     * @param q text the item names must contain
+     * @param limit maximum number of results
+     * @param principal authenticated user providing the owner's id
+     * @return matching items; exact matches first, then prefix matches, then other substring matches
+     */
+    @GetMapping("/search")
+    public List<ItemResponse> searchItems(@RequestParam String q,
+                                          @RequestParam(defaultValue = "20") int limit,
+                                          @AuthenticationPrincipal UserPrincipal principal) {
+        return itemSearchService.search(principal.getId(), q, limit);
+    }
+
+    /**
+     * Subscribes to changes of items owned by authenticated user as Server-Sent Events.
+     * A {@code created} event carries the JSON array of created items; a {@code resync} event means
+     * that events were dropped and the list should be reloaded.
+     * @param principal authenticated user providing the owner's id
+     * @return event stream of the owner's committed item changes
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter itemEvents(@AuthenticationPrincipal UserPrincipal principal) {
+        return itemEventBroadcaster.subscribe(principal.getId());
+    }
+
+    /**
+     * Streams all items owned by authenticated user as newline-delimited JSON.
+     * Rows are written as they are read from the database, so the response starts immediately
+     * and memory use does not depend on the number of items.
+     * @param principal authenticated user providing the owner's id
+     * @return response body writing one JSON item per line
      */
-    @GetMapping
-    public List<ItemResponse> getItems(Authentication authentication) {
-        String login = authentication.getName();
-        return  itemService.getItemsForUser(login);
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamItems(@AuthenticationPrincipal UserPrincipal principal) {
+        UUID ownerId = principal.getId();
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.setRootValueSeparator(null);
+            AtomicBoolean first = new AtomicBoolean(true);
+            itemService.streamItemsForUser(ownerId, item -> {
+                try {
+                    generator.writeObject(item);
+                    generator.writeRaw('\n');
+                    if (first.getAndSet(false)) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        };
     }
-}
\ No newline at end of file
+}
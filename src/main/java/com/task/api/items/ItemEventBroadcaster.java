@@ -0,0 +1,295 @@
+package com.task.api.items;
+
+import com.task.api.common.ServiceBusyException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes committed item changes to the Server-Sent Events subscribers of their owner.
+ * <p>
+ * Subscriptions are asynchronous requests, so an idle subscriber holds a connection but no thread.
+ * Every subscriber has a small bounded queue of pending events, drained by a virtual thread of its own
+ * while events are pending. Writes to the response block, so a client that stops reading blocks only the
+ * thread draining its own queue; a subscriber whose write has not finished within
+ * {@code items.events.write-timeout} is disconnected. When a subscriber's queue is full, the
+ * {@link OverflowPolicy} either drops its oldest event and sends a {@code resync} event before the next one,
+ * telling the client to reload the list, or disconnects the subscriber.
+ * </p>
+ * <p>
+ * A heartbeat comment is sent to every subscriber periodically, which keeps proxies from closing
+ * idle streams and detects clients that went away.
+ * </p>
+ */
+@Service
+public class ItemEventBroadcaster implements DisposableBean {
+
+    /**
+     * What happens to a subscriber whose queue of pending events is full.
+     */
+    public enum OverflowPolicy {
+        /** Drop the oldest pending event and send a {@code resync} event. */
+        DROP_OLDEST,
+        /** Complete the stream; the client reconnects and reloads. */
+        DISCONNECT
+    }
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService executor;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration retryAfter;
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+
+    public ItemEventBroadcaster(@Value("${items.events.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${items.events.buffer-size:64}") int bufferSize,
+                                @Value("${items.events.timeout:30m}") Duration timeout,
+                                @Value("${items.events.write-timeout:10s}") Duration writeTimeout,
+                                @Value("${items.events.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                                @Value("${items.events.retry-after:5s}") Duration retryAfter) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("item-events-", 1).factory());
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Subscribes to the committed item changes of the owner.
+     * @param ownerId id of the owner
+     * @return emitter streaming {@code created} events with the list of created items
+     * and {@code deleted} events with the list of deleted item ids
+     * @throws ServiceBusyException if the maximum number of subscribers is reached
+     */
+    public SseEmitter subscribe(UUID ownerId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceBusyException("Too many event subscribers, try again later.", retryAfter);
+        }
+
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        try {
+            // sent as soon as the response starts, so the client sees the stream open right away
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException e) {
+            subscriberCount.decrementAndGet();
+            throw new UncheckedIOException(e);
+        }
+        Subscriber subscriber = new Subscriber(ownerId, emitter);
+        subscribers.computeIfAbsent(ownerId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    void onItemsChanged(ItemsChangedEvent event) {
+        Set<Subscriber> ownerSubscribers = subscribers.get(event.ownerId());
+        if (ownerSubscribers == null) {
+            return;
+        }
+        if (!event.created().isEmpty()) {
+            Event created = new Event("created", event.created());
+            ownerSubscribers.forEach(subscriber -> subscriber.offer(created));
+        }
+        if (!event.deleted().isEmpty()) {
+            Event deleted = new Event("deleted", event.deleted());
+            ownerSubscribers.forEach(subscriber -> subscriber.offer(deleted));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${items.events.heartbeat:30s}")
+    void heartbeat() {
+        subscribers.values().forEach(ownerSubscribers -> ownerSubscribers.forEach(subscriber ->
+                subscriber.offer(Event.HEARTBEAT)));
+    }
+
+    /**
+     * Disconnects subscribers whose current write has taken longer than the write timeout,
+     * e.g. because the client stopped reading and its TCP window is full.
+     */
+    @Scheduled(fixedDelayString = "${items.events.write-timeout-check:1s}")
+    void closeStalledSubscribers() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(ownerSubscribers -> ownerSubscribers.forEach(subscriber -> {
+            if (subscriber.isWritingSince(now - writeTimeoutNanos)) {
+                subscriber.close();
+            }
+        }));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    /**
+     * @return number of events dropped because a subscriber's queue was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Completes all streams when shutdown starts, so graceful shutdown of the web server
+     * does not wait for subscriptions that would otherwise stay open until their timeout.
+     */
+    @EventListener(ContextClosedEvent.class)
+    void closeSubscribers() {
+        subscribers.values().forEach(ownerSubscribers -> ownerSubscribers.forEach(Subscriber::close));
+    }
+
+    @Override
+    public void destroy() {
+        closeSubscribers();
+        executor.shutdownNow();
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private record Event(String name, List<?> data) {
+
+        static final Event HEARTBEAT = new Event(null, List.of());
+
+        SseEmitter.SseEventBuilder toSse() {
+            return name == null
+                    ? SseEmitter.event().comment("heartbeat")
+                    : SseEmitter.event().name(name).data(data);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final UUID ownerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> pending = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+        private volatile long writeStartedNanos;
+        private volatile boolean writing;
+
+        Subscriber(UUID ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+        }
+
+        void offer(Event event) {
+            if (closed) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                droppedCount.increment();
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    close();
+                    return;
+                }
+                pending.poll();
+                overflowed = true;
+                if (!pending.offer(event)) {
+                    droppedCount.increment();
+                }
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Stops delivery and completes the stream. Completing waits for a write in progress, which holds
+         * the emitter's lock, so it runs on its own thread and a stalled write cannot block the caller.
+         */
+        void close() {
+            closed = true;
+            remove();
+            try {
+                executor.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                emitter.complete();
+            }
+        }
+
+        boolean isWritingSince(long nanos) {
+            return writing && writeStartedNanos - nanos < 0;
+        }
+
+        void remove() {
+            if (removed.compareAndSet(false, true)) {
+                subscriberCount.decrementAndGet();
+                subscribers.computeIfPresent(ownerId, (id, ownerSubscribers) -> {
+                    ownerSubscribers.remove(this);
+                    return ownerSubscribers.isEmpty() ? null : ownerSubscribers;
+                });
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Event event;
+                while (!closed && (event = pending.poll()) != null) {
+                    if (overflowed) {
+                        overflowed = false;
+                        write(SseEmitter.event().name("resync").data(""));
+                    }
+                    write(event.toSse());
+                    deliveredCount.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                writing = false;
+                draining.set(false);
+                if (!closed && !pending.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) throws IOException {
+            writeStartedNanos = System.nanoTime();
+            writing = true;
+            emitter.send(event);
+            writing = false;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.task.api.items;
+
+import com.task.api.items.dto.ItemResponse;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * In-memory search index over the item names of a single owner.
+ * <p>
+ * Names are matched case-insensitively. A sorted map of names answers exact and prefix matches,
+ * and posting lists of name trigrams narrow substring matches down to candidates that are then
+ * verified, so a lookup does not scan the owner's items unless the query is shorter than three characters.
+ * Items get consecutive document numbers, which keeps every posting list sorted without extra work.
+ * </p>
+ * <p>
+ * Adding an item that is already indexed is a no-op, so items loaded from the database and
+ * items added by concurrent writes can overlap safely. Removed items keep their document number
+ * and are only skipped by lookups, so a late add of a removed item cannot bring it back.
+ * </p>
+ * <p>
+ * The index remembers the version of the owner's item list it reflects. Committed changes are applied
+ * only when they directly follow that version; a change that arrives out of order or after a missed one
+ * is skipped, leaving the index behind the owner's version so that its user rebuilds it.
+ * </p>
+ */
+class ItemNameIndex {
+
+    private static final int GRAM = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> docsById = new HashMap<>();
+    private final List<ItemResponse> docs = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final NavigableMap<String, IntList> docsByName = new TreeMap<>();
+    private final Map<String, IntList> docsByTrigram = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private volatile boolean loaded;
+    private volatile long version;
+    private volatile long lastAccess = System.nanoTime();
+
+    ItemNameIndex() {
+        this(0);
+    }
+
+    /**
+     * @param version version of the owner's item list the index is built for, reported until it is loaded
+     */
+    ItemNameIndex(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Fills the index from the given sources, unless it was already loaded.
+     * The version is read before the items, so the items are at least as recent as the version.
+     * If loading fails, the index stays unloaded and the next call tries again.
+     * @param versionSource supplying the version of the owner's item list
+     * @param source supplying all items of the owner
+     */
+    void load(LongSupplier versionSource, Supplier<List<ItemResponse>> source) {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                long loadedVersion = versionSource.getAsLong();
+                source.get().forEach(this::addLocked);
+                version = loadedVersion;
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed change of the owner's items if it directly follows the version of the index.
+     * Changes the index already reflects are ignored, as are changes after a gap and changes arriving
+     * before the index is loaded.
+     * @param changeVersion version of the owner's item list written by the change
+     * @param created items created by the change
+     * @param deleted ids of items deleted by the change
+     */
+    void apply(long changeVersion, List<ItemResponse> created, List<UUID> deleted) {
+        lock.writeLock().lock();
+        try {
+            if (loaded && changeVersion == version + 1) {
+                created.forEach(this::addLocked);
+                deleted.forEach(this::removeLocked);
+                version = changeVersion;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void add(ItemResponse item) {
+        lock.writeLock().lock();
+        try {
+            addLocked(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds items whose name contains the query, ignoring case.
+     * Exact matches come first, then prefix matches in name order, then the remaining
+     * substring matches in the order the items were indexed.
+     * @param query text to look for
+     * @param limit maximum number of results
+     * @return matching items, at most {@code limit}
+     */
+    List<ItemResponse> search(String query, int limit) {
+        lastAccess = System.nanoTime();
+        String q = normalize(query);
+        List<ItemResponse> results = new ArrayList<>(Math.min(limit, 64));
+
+        lock.readLock().lock();
+        try {
+            IntList exact = docsByName.get(q);
+            if (exact != null) {
+                collect(exact, results, limit);
+            }
+            for (Map.Entry<String, IntList> entry : docsByName.tailMap(q, false).entrySet()) {
+                if (results.size() >= limit || !entry.getKey().startsWith(q)) {
+                    break;
+                }
+                collect(entry.getValue(), results, limit);
+            }
+            if (results.size() < limit) {
+                collectSubstringMatches(q, results, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return version of the owner's item list the index reflects, or is built for while it is not loaded
+     */
+    long getVersion() {
+        return version;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size() - removed.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(ItemResponse item) {
+        if (docsById.containsKey(item.getId())) {
+            return;
+        }
+        int doc = docs.size();
+        String name = normalize(item.getName());
+        docsById.put(item.getId(), doc);
+        docs.add(item);
+        names.add(name);
+        docsByName.computeIfAbsent(name, key -> new IntList()).add(doc);
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            IntList postings = docsByTrigram.computeIfAbsent(name.substring(i, i + GRAM), key -> new IntList());
+            if (postings.isEmpty() || postings.last() != doc) {
+                postings.add(doc);
+            }
+        }
+    }
+
+    private void removeLocked(UUID id) {
+        Integer doc = docsById.get(id);
+        if (doc != null) {
+            removed.set(doc);
+        }
+    }
+
+    private void collectSubstringMatches(String q, List<ItemResponse> results, int limit) {
+        if (q.length() < GRAM) {
+            for (int doc = 0; doc < docs.size() && results.size() < limit; doc++) {
+                collectIfSubstringMatch(doc, q, results);
+            }
+            return;
+        }
+
+        List<IntList> postings = new ArrayList<>();
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            IntList list = docsByTrigram.get(q.substring(i, i + GRAM));
+            if (list == null) {
+                return;
+            }
+            postings.add(list);
+        }
+        postings.sort(Comparator.comparingInt(IntList::size));
+
+        IntList shortest = postings.get(0);
+        for (int i = 0; i < shortest.size() && results.size() < limit; i++) {
+            int doc = shortest.get(i);
+            if (containedInAll(postings, doc)) {
+                collectIfSubstringMatch(doc, q, results);
+            }
+        }
+    }
+
+    private void collectIfSubstringMatch(int doc, String q, List<ItemResponse> results) {
+        String name = names.get(doc);
+        if (!removed.get(doc) && !name.startsWith(q) && name.contains(q)) {
+            results.add(docs.get(doc));
+        }
+    }
+
+    private void collect(IntList docList, List<ItemResponse> results, int limit) {
+        for (int i = 0; i < docList.size() && results.size() < limit; i++) {
+            int doc = docList.get(i);
+            if (!removed.get(doc)) {
+                results.add(docs.get(doc));
+            }
+        }
+    }
+
+    private static boolean containedInAll(List<IntList> postings, int doc) {
+        for (int i = 1; i < postings.size(); i++) {
+            if (!postings.get(i).contains(doc)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Growable, ascending list of document numbers.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int last() {
+            return values[size - 1];
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -1,12 +1,44 @@
 package com.task.api.items;
 
+import com.task.api.items.dto.ItemResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, UUID> {
+    @Query("select i from Item i where i.owner.id = :ownerId and i.deleted = false")
     List<Item> findByOwnerId(UUID ownerId);
+
+    @Query("select i from Item i where i.id = :id and i.owner.id = :ownerId and i.deleted = false")
+    Optional<Item> findLiveByIdAndOwnerId(UUID id, UUID ownerId);
+
+    @Query("select new com.task.api.items.dto.ItemResponse(i.id, i.name) from Item i " +
+            "where i.owner.id = :ownerId and i.deleted = false")
+    List<ItemResponse> findResponsesByOwnerId(UUID ownerId);
+
+    @Query("select new com.task.api.items.ItemChange(i.id, i.name, i.deleted) from Item i " +
+            "where i.owner.id = :ownerId and i.seq > :since and i.seq <= :until order by i.seq")
+    List<ItemChange> findChangesByOwnerId(UUID ownerId, long since, long until);
+
+    @Query("select new com.task.api.items.dto.ItemResponse(i.id, i.name) from Item i " +
+            "where i.owner.id = :ownerId and i.deleted = false order by i.id")
+    List<ItemResponse> findFirstPageByOwnerId(UUID ownerId, Limit limit);
+
+    @Query("select new com.task.api.items.dto.ItemResponse(i.id, i.name) from Item i " +
+            "where i.owner.id = :ownerId and i.id > :afterId and i.deleted = false order by i.id")
+    List<ItemResponse> findPageByOwnerIdAfter(UUID ownerId, UUID afterId, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Item i where i.deletedAt < :cutoff")
+    int deleteTombstonesBefore(Instant cutoff);
 }
@@ -0,0 +1,125 @@
+package com.task.api.items;
+
+import com.task.api.common.BadRequestException;
+import com.task.api.items.dto.ItemResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Searches item names of an owner through a per-owner {@link ItemNameIndex}.
+ * <p>
+ * An owner's index is built from the database on the first search, e.g. after a restart,
+ * and then kept in sync with the items committed by {@link ItemService} on this node.
+ * Every search compares the version of the index with the owner's version from {@link ItemStatsService};
+ * an index that is behind, because of writes on other nodes, reactive writes or a missed change, is
+ * rebuilt, so it is at most as stale as the stats cache.
+ * At most {@code items.search.max-owners} indexes are kept; the least recently searched one
+ * is dropped to make room and rebuilt when it is needed again.
+ * </p>
+ */
+@Service
+public class ItemSearchService {
+
+    private final ItemRepository itemRepository;
+    private final ItemStatsService itemStatsService;
+    private final TransactionOperations readOnlyTransaction;
+    private final Map<UUID, ItemNameIndex> indexes = new ConcurrentHashMap<>();
+    private final int maxOwners;
+    private final int maxLimit;
+
+    @Autowired
+    public ItemSearchService(ItemRepository itemRepository,
+                             ItemStatsService itemStatsService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${items.search.max-owners:1000}") int maxOwners,
+                             @Value("${items.search.max-limit:100}") int maxLimit) {
+        this(itemRepository, itemStatsService, readOnly(transactionManager), maxOwners, maxLimit);
+    }
+
+    ItemSearchService(ItemRepository itemRepository, ItemStatsService itemStatsService,
+                      TransactionOperations readOnlyTransaction, int maxOwners, int maxLimit) {
+        this.itemRepository = itemRepository;
+        this.itemStatsService = itemStatsService;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.maxOwners = maxOwners;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Finds items of the owner whose name contains the query, ignoring case.
+     * Exact matches rank first, then prefix matches, then other substring matches.
+     * @param ownerId id of the owner
+     * @param query text to look for
+     * @param limit maximum number of results
+     * @return matching items, best matches first
+     * @throws BadRequestException if the query is blank or the limit is out of range
+     */
+    public List<ItemResponse> search(UUID ownerId, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Query must not be blank.");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new BadRequestException("Limit must be between 1 and " + maxLimit + ".");
+        }
+        return indexFor(ownerId).search(query, limit);
+    }
+
+    @TransactionalEventListener
+    void onItemsChanged(ItemsChangedEvent event) {
+        ItemNameIndex index = indexes.get(event.ownerId());
+        if (index != null) {
+            index.apply(event.version(), event.created(), event.deleted());
+        }
+    }
+
+    int getIndexedOwnerCount() {
+        return indexes.size();
+    }
+
+    /**
+     * Returns the owner's index, replacing it with a new one if it is behind the owner's version.
+     * The new index reads the version and the items in one read-only transaction, so both come from
+     * the same snapshot even when reads are routed to a replica.
+     */
+    private ItemNameIndex indexFor(UUID ownerId) {
+        long version = itemStatsService.getVersion(ownerId);
+        ItemNameIndex index = indexes.get(ownerId);
+        if (index == null || index.getVersion() < version) {
+            if (index == null && indexes.size() >= maxOwners) {
+                evictLeastRecentlyUsed();
+            }
+            index = indexes.compute(ownerId, (id, current) ->
+                    current == null || current.getVersion() < version ? new ItemNameIndex(version) : current);
+        }
+        if (!index.isLoaded()) {
+            ItemNameIndex unloaded = index;
+            readOnlyTransaction.executeWithoutResult(status -> unloaded.load(
+                    () -> itemStatsService.getCommittedVersion(ownerId),
+                    () -> itemRepository.findResponsesByOwnerId(ownerId)));
+        }
+        return index;
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        indexes.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().getLastAccess()))
+                .ifPresent(entry -> indexes.remove(entry.getKey(), entry.getValue()));
+    }
+}
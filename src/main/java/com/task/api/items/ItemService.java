@@ -1,12 +1,39 @@
 package com.task.api.items;
 
-import com.task.api.user.User;
+import com.task.api.common.BadRequestException;
+import com.task.api.common.GoneException;
+import com.task.api.common.GroupCommitter;
+import com.task.api.common.NotFoundException;
+import com.task.api.items.dto.ItemChanges;
+import com.task.api.items.dto.ItemPage;
 import com.task.api.items.dto.ItemResponse;
+import com.task.api.user.User;
 import com.task.api.user.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for item related operations.
@@ -15,39 +42,324 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemService {
 
+    private static final String STREAM_QUERY = "select new com.task.api.items.dto.ItemResponse(i.id, i.name) " +
+            "from Item i where i.owner.id = :ownerId and i.deleted = false";
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ItemStatsService itemStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${items.page.max-limit:1000}")
+    private int maxPageLimit;
+
+    @Value("${items.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${items.group-commit.enabled:false}")
+    private boolean groupCommitEnabled;
+
+    @Value("${items.group-commit.max-size:100}")
+    private int groupCommitMaxSize;
+
+    @Value("${items.group-commit.linger:2ms}")
+    private Duration groupCommitLinger;
+
+    @Value("${items.group-commit.queue-capacity:10000}")
+    private int groupCommitQueueCapacity;
+
+    @Value("${items.group-commit.retry-after:1s}")
+    private Duration groupCommitRetryAfter;
+
+    @Value("${items.stream.fetch-size:500}")
+    private int streamFetchSize;
+
+    @Value("${items.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    private GroupCommitter<NewItem> groupCommitter;
+
+    @PostConstruct
+    void startGroupCommit() {
+        if (groupCommitEnabled) {
+            groupCommitter = new GroupCommitter<>("item-group-commit", groupCommitMaxSize, groupCommitLinger,
+                    groupCommitQueueCapacity, groupCommitRetryAfter,
+                    group -> transactionTemplate.executeWithoutResult(status -> insert(group)));
+        }
+    }
+
+    @PreDestroy
+    void stopGroupCommit() {
+        if (groupCommitter != null) {
+            groupCommitter.close();
+        }
+    }
 
     /**
-     * Creates and saves a new item for a given user login.
+     * Creates and saves a new item for a given owner.
+     * The owner is referenced by a proxy, so no user lookup is executed.
+     * <p>
+     * With {@code items.group-commit.enabled}, the item is queued and inserted together with
+     * other concurrently created items in one transaction; the call still returns only after
+     * that transaction has committed.
+     * </p>
      * @param itemName the name of the new item
-     * @param login of the item owner
-     * @throws RuntimeException if the user is not found by their login
+     * @param ownerId id of the item owner
+     * @throws com.task.api.common.ConflictException if the owner reached the item quota
+     * @throws com.task.api.common.ServiceBusyException if the group commit queue is full
      */
-    public void createItem(String itemName, String login) {
-        User user = userRepository.findByLogin(login)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+    public void createItem(String itemName, UUID ownerId) {
+        itemStatsService.checkQuota(ownerId, 1);
+        NewItem newItem = new NewItem(itemName, ownerId);
+        if (groupCommitter != null) {
+            groupCommitter.submit(newItem);
+        } else {
+            transactionTemplate.executeWithoutResult(status -> insert(List.of(newItem)));
+        }
+    }
 
-        Item item = new Item();
-        item.setName(itemName);
-        item.setOwner(user);
+    /**
+     * Creates and saves new items for a given owner in a single transaction.
+     * The owner is resolved once, and the inserts are sent with JDBC batching.
+     * @param itemNames names of the new items
+     * @param ownerId id of the items owner
+     * @return ids of the created items, in the order of the names
+     * @throws BadRequestException if the batch is empty or larger than the configured maximum
+     * @throws com.task.api.common.ConflictException if the items would exceed the owner's item quota
+     */
+    @Transactional
+    public List<UUID> createItems(List<String> itemNames, UUID ownerId) {
+        if (itemNames.isEmpty() || itemNames.size() > maxBatchSize) {
+            throw new BadRequestException("Batch must contain between 1 and " + maxBatchSize + " items.");
+        }
+        itemStatsService.checkQuota(ownerId, itemNames.size());
 
-        itemRepository.save(item);
+        List<NewItem> newItems = itemNames.stream()
+                .map(itemName -> new NewItem(itemName, ownerId))
+                .toList();
+        return insert(newItems).stream()
+                .map(Item::getId)
+                .toList();
+    }
+
+    /**
+     * Deletes an item of a given owner.
+     * The row is kept as a tombstone carrying the next version of the owner's item list,
+     * so delta syncs can report the deletion until the tombstone is purged.
+     * @param itemId id of the item
+     * @param ownerId id of the item owner
+     * @throws NotFoundException if the owner has no such item
+     */
+    @Transactional
+    public void deleteItem(UUID itemId, UUID ownerId) {
+        // Taking the owner's row lock first serializes concurrent deletes, so the item is read after
+        // any competing delete has committed and the count cannot be decremented twice.
+        long version = itemStatsService.recordChange(ownerId, -1);
+        Item item = itemRepository.findLiveByIdAndOwnerId(itemId, ownerId)
+                .orElseThrow(() -> new NotFoundException("Item not found."));
+        item.setDeleted(true);
+        item.setDeletedAt(Instant.now());
+        item.setSeq(version);
+        eventPublisher.publishEvent(ItemsChangedEvent.deleted(ownerId, version, List.of(itemId)));
     }
 
     /**
-     * Retrieves all items of a user with the given login
-     * @param login of the user
+     * Returns the items of a user created or deleted since the state described by a sync token.
+     * Every write stamps the changed rows with the new version of the owner's item list,
+     * so the changes are a range scan on (owner_id, seq) and their cost depends only on their number.
+     * @param ownerId id of the user
+     * @param syncToken token returned by the previous sync, or an empty string for the initial sync
+     * @return created items, ids of deleted items and the token of the next sync;
+     * the initial sync returns all live items
+     * @throws BadRequestException if the token is malformed
+     * @throws GoneException if the token is older than the tombstone retention, so deletions may be missed
+     */
+    @Transactional(readOnly = true)
+    public ItemChanges getChangesSince(UUID ownerId, String syncToken) {
+        Instant now = Instant.now();
+        if (syncToken.isEmpty()) {
+            long version = itemStatsService.getCommittedVersion(ownerId);
+            return new ItemChanges(itemRepository.findResponsesByOwnerId(ownerId), List.of(),
+                    encodeSyncToken(version, now));
+        }
+
+        ByteBuffer token = decodeSyncToken(syncToken);
+        long since = token.getLong();
+        if (Instant.ofEpochMilli(token.getLong()).isBefore(now.minus(tombstoneRetention))) {
+            throw new GoneException("Sync token expired, reload all items.");
+        }
+        // Changes committed after the version was read are left to the next sync.
+        long version = itemStatsService.getCommittedVersion(ownerId);
+        List<ItemResponse> items = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        for (ItemChange change : itemRepository.findChangesByOwnerId(ownerId, since, version)) {
+            if (change.deleted()) {
+                deleted.add(change.id());
+            } else {
+                items.add(new ItemResponse(change.id(), change.name()));
+            }
+        }
+        return new ItemChanges(items, deleted, encodeSyncToken(version, now));
+    }
+
+    /**
+     * Removes tombstones of deleted items once no valid sync token can refer to them.
+     */
+    @Scheduled(fixedDelayString = "${items.sync.purge-interval:1h}")
+    public void purgeTombstones() {
+        itemRepository.deleteTombstonesBefore(Instant.now().minus(tombstoneRetention));
+    }
+
+    /**
+     * Returns the number of items of a user, maintained alongside every item write.
+     * @param ownerId id of the user
+     * @return number of items
+     */
+    public long countItemsForUser(UUID ownerId) {
+        return itemStatsService.getCount(ownerId);
+    }
+
+    /**
+     * @return group committer of single item creates, or null if group commit is disabled
+     */
+    public GroupCommitter<?> getGroupCommitter() {
+        return groupCommitter;
+    }
+
+    /**
+     * Retrieves all items of a user with the given id.
+     * Selects id and name straight into {@link ItemResponse} in a read-only transaction,
+     * so no entities are hydrated, snapshotted for dirty checking or flushed.
+     * @param ownerId id of the user
      * @return list of {@link ItemResponse}
-     * @throws RuntimeException if the user is not found by their login
      */
-    public List<ItemResponse> getItemsForUser(String login) {
-        User user = userRepository.findByLogin(login)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+    @Transactional(readOnly = true)
+    public List<ItemResponse> getItemsForUser(UUID ownerId) {
+        return itemRepository.findResponsesByOwnerId(ownerId);
+    }
 
-        List<Item> items = itemRepository.findByOwnerId(user.getId());
-        return items.stream()
-                .map(item -> new ItemResponse(item.getId(), item.getName()))
-                .toList();
+    /**
+     * Streams all items of a user to the given consumer as they are read from the database.
+     * Rows are projected straight into {@link ItemResponse}, so the persistence context holds nothing
+     * and memory use does not depend on the number of items.
+     * <p>
+     * The fetch size {@code items.stream.fetch-size} applies to this query only. With MySQL it is
+     * {@link Integer#MIN_VALUE}, which makes Connector/J stream rows without turning on server-side
+     * cursors for every other query of the connection pool.
+     * </p>
+     * @param ownerId id of the user
+     * @param consumer receiving each {@link ItemResponse} in turn
+     */
+    @Transactional(readOnly = true)
+    public void streamItemsForUser(UUID ownerId, Consumer<ItemResponse> consumer) {
+        try (Stream<ItemResponse> items = entityManager.createQuery(STREAM_QUERY, ItemResponse.class)
+                .setParameter("ownerId", ownerId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            items.forEach(consumer);
+        }
+    }
+
+    /**
+     * Retrieves one page of items of a user, ordered by item id.
+     * Uses a seek query on (owner_id, id), so the cost of a page does not depend on how deep it is.
+     * @param ownerId id of the user
+     * @param limit maximum number of items on the page
+     * @param cursor opaque cursor returned with the previous page, or null for the first page
+     * @return page of {@link ItemResponse} with the cursor of the next page, which is null on the last page
+     * @throws BadRequestException if the limit is out of range or the cursor is malformed
+     */
+    public ItemPage getItemsPage(UUID ownerId, int limit, String cursor) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new BadRequestException("Limit must be between 1 and " + maxPageLimit + ".");
+        }
+
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<ItemResponse> items = cursor == null
+                ? itemRepository.findFirstPageByOwnerId(ownerId, fetchLimit)
+                : itemRepository.findPageByOwnerIdAfter(ownerId, decodeCursor(cursor), fetchLimit);
+
+        if (items.size() <= limit) {
+            return new ItemPage(items, null);
+        }
+        List<ItemResponse> page = items.subList(0, limit);
+        return new ItemPage(page, encodeCursor(page.get(limit - 1).getId()));
+    }
+
+    private List<Item> insert(List<NewItem> newItems) {
+        Map<UUID, Integer> countsByOwner = new LinkedHashMap<>();
+        newItems.forEach(newItem -> countsByOwner.merge(newItem.ownerId(), 1, Integer::sum));
+        Map<UUID, Long> versionsByOwner = new HashMap<>();
+        countsByOwner.forEach((ownerId, count) ->
+                versionsByOwner.put(ownerId, itemStatsService.recordChange(ownerId, count)));
+
+        Map<UUID, User> owners = new HashMap<>();
+        List<Item> items = new ArrayList<>(newItems.size());
+        for (NewItem newItem : newItems) {
+            Item item = new Item();
+            item.setName(newItem.name());
+            item.setOwner(owners.computeIfAbsent(newItem.ownerId(), userRepository::getReferenceById));
+            item.setSeq(versionsByOwner.get(newItem.ownerId()));
+            items.add(item);
+        }
+
+        List<Item> saved = itemRepository.saveAll(items);
+        Map<UUID, List<ItemResponse>> createdByOwner = new LinkedHashMap<>();
+        for (int i = 0; i < saved.size(); i++) {
+            Item item = saved.get(i);
+            createdByOwner.computeIfAbsent(newItems.get(i).ownerId(), id -> new ArrayList<>())
+                    .add(new ItemResponse(item.getId(), item.getName()));
+        }
+        createdByOwner.forEach((ownerId, created) ->
+                eventPublisher.publishEvent(
+                        ItemsChangedEvent.created(ownerId, versionsByOwner.get(ownerId), created)));
+        return saved;
+    }
+
+    private record NewItem(String name, UUID ownerId) {
+    }
+
+    private static String encodeCursor(UUID lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(16)
+                .putLong(lastId.getMostSignificantBits())
+                .putLong(lastId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private static String encodeSyncToken(long version, Instant issuedAt) {
+        ByteBuffer buffer = ByteBuffer.allocate(16)
+                .putLong(version)
+                .putLong(issuedAt.toEpochMilli());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private static ByteBuffer decodeSyncToken(String syncToken) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(syncToken);
+        } catch (IllegalArgumentException e) {
+            bytes = new byte[0];
+        }
+        if (bytes.length != 16) {
+            throw new BadRequestException("Invalid sync token.");
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private static UUID decodeCursor(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            bytes = new byte[0];
+        }
+        if (bytes.length != 16) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
     }
 }
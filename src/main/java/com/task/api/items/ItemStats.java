@@ -0,0 +1,9 @@
+package com.task.api.items;
+
+/**
+ * Item statistics of an owner, kept on the owner's row.
+ * @param version incremented by every change of the owner's items
+ * @param count number of the owner's items, or null if it was not counted yet
+ */
+public record ItemStats(long version, Long count) {
+}
@@ -0,0 +1,197 @@
+package com.task.api.items;
+
+import com.task.api.common.ConflictException;
+import com.task.api.common.NotFoundException;
+import com.task.api.security.ExpiringCache;
+import com.task.api.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Maintains per-owner {@link ItemStats}: the version of the item list, used as the entity tag of
+ * {@code GET /items}, and the number of items, used for {@code GET /items/count} and the item quota.
+ * <p>
+ * Both are persisted on the owner's row and changed by a single conditional update in the same
+ * transaction as every item write, before any item is inserted. The update locks the owner's row, so
+ * concurrent writes of the same owner cannot exceed the quota together. Counts of owners created before
+ * the column existed are computed once on first use.
+ * </p>
+ * <p>
+ * Reads are answered from a short-lived cache, which is backed by a {@link java.util.concurrent.ConcurrentHashMap}
+ * and so does not contend across owners; writes on this node invalidate it once their
+ * {@link ItemsChangedEvent} is committed, while writes on other nodes become visible once the entry expires.
+ * A read that raced with such an invalidation is not cached, so it cannot outlive the write it missed.
+ * </p>
+ */
+@Service
+public class ItemStatsService {
+
+    /** Invalidation counters shared by the owners hashing to the same stripe; a power of two. */
+    private static final int GENERATION_STRIPES = 256;
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<UUID, ItemStats> stats;
+    private final long ttlMillis;
+    private final long maxItemsPerUser;
+    private final Clock clock;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Autowired
+    public ItemStatsService(UserRepository userRepository,
+                            @Value("${items.stats.cache-size:10000}") int maxSize,
+                            @Value("${items.stats.cache-ttl:2s}") Duration ttl,
+                            @Value("${items.max-per-user:100000}") long maxItemsPerUser) {
+        this(userRepository, maxSize, ttl, maxItemsPerUser, Clock.systemUTC());
+    }
+
+    ItemStatsService(UserRepository userRepository, int maxSize, Duration ttl, long maxItemsPerUser, Clock clock) {
+        this.userRepository = userRepository;
+        this.stats = new ExpiringCache<>(maxSize, clock);
+        this.ttlMillis = ttl.toMillis();
+        this.maxItemsPerUser = maxItemsPerUser;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current version of the owner's item list.
+     * @param ownerId id of the owner
+     * @return version, which is 0 for an unknown owner
+     */
+    public long getVersion(UUID ownerId) {
+        return getStats(ownerId).version();
+    }
+
+    /**
+     * Returns a strong entity tag of the owner's item list.
+     * The owner id is part of the tag, so a client switching accounts never matches a stale tag.
+     * @param ownerId id of the owner
+     * @return quoted entity tag
+     */
+    public String getETag(UUID ownerId) {
+        return eTag(ownerId, getVersion(ownerId));
+    }
+
+    /**
+     * Builds the entity tag of the given version of the owner's item list.
+     * @param ownerId id of the owner
+     * @param version version of the item list
+     * @return quoted entity tag
+     */
+    public static String eTag(UUID ownerId, long version) {
+        return "\"" + ownerId + "-" + version + "\"";
+    }
+
+    /**
+     * Returns the number of the owner's items.
+     * @param ownerId id of the owner
+     * @return number of items, which is 0 for an unknown owner
+     */
+    public long getCount(UUID ownerId) {
+        ItemStats current = getStats(ownerId);
+        if (current.count() == null) {
+            userRepository.initItemCount(ownerId);
+            invalidate(ownerId);
+            current = getStats(ownerId);
+        }
+        return current.count() == null ? 0 : current.count();
+    }
+
+    /**
+     * Rejects creating items that would certainly exceed the quota, judging by the cached count.
+     * Used to fail fast before a transaction is started; {@link #recordChange} is the authoritative check.
+     * @param ownerId id of the owner
+     * @param newItems number of items to create
+     * @throws ConflictException if the owner would exceed the quota
+     */
+    public void checkQuota(UUID ownerId, int newItems) {
+        Long count = getStats(ownerId).count();
+        if (count != null && count + newItems > maxItemsPerUser) {
+            throw quotaExceeded();
+        }
+    }
+
+    /**
+     * Returns the committed version of the owner's item list, bypassing the cache.
+     * @param ownerId id of the owner
+     * @return version, which is 0 for an unknown owner
+     */
+    public long getCommittedVersion(UUID ownerId) {
+        return userRepository.findItemsVersionById(ownerId).orElse(0L);
+    }
+
+    /**
+     * Adds the delta to the owner's item count and increments the version of the item list.
+     * Must be called inside the transaction that writes the items, before they are inserted.
+     * Holds the owner's row lock until the transaction ends, so changes of one owner are serialized.
+     * @param ownerId id of the owner
+     * @param delta number of created items, negative for removed ones
+     * @return new version of the owner's item list, used as the sequence of the changed items
+     * @throws ConflictException if the owner would exceed the quota
+     * @throws NotFoundException if the owner does not exist
+     */
+    public long recordChange(UUID ownerId, long delta) {
+        long max = delta > 0 ? maxItemsPerUser : Long.MAX_VALUE;
+        if (userRepository.applyItemsChange(ownerId, delta, max) == 0) {
+            // nothing was updated: the count is missing, the quota is reached or there is no such owner
+            int initialized = userRepository.initItemCount(ownerId);
+            if (initialized == 0 && !userRepository.existsById(ownerId)) {
+                throw new NotFoundException("User not found.");
+            }
+            if (initialized == 0 || userRepository.applyItemsChange(ownerId, delta, max) == 0) {
+                throw quotaExceeded();
+            }
+        }
+        return getCommittedVersion(ownerId);
+    }
+
+    /**
+     * @return cache of per-owner stats, exposed for monitoring of its hit ratio
+     */
+    public ExpiringCache<UUID, ItemStats> getStatsCache() {
+        return stats;
+    }
+
+    @TransactionalEventListener
+    void onItemsChanged(ItemsChangedEvent event) {
+        invalidate(event.ownerId());
+    }
+
+    private void invalidate(UUID ownerId) {
+        generations.incrementAndGet(stripe(ownerId));
+        stats.invalidate(ownerId);
+    }
+
+    /**
+     * Loads and caches the owner's stats. The stripe's generation is checked again after the put: an
+     * invalidation that happened meanwhile may have run before the put, so the possibly stale entry is dropped.
+     * An invalidation after the check removes the entry itself.
+     */
+    private ItemStats getStats(UUID ownerId) {
+        ItemStats current = stats.get(ownerId);
+        if (current == null) {
+            int stripe = stripe(ownerId);
+            long generation = generations.get(stripe);
+            current = userRepository.findItemStatsById(ownerId).orElse(new ItemStats(0, 0L));
+            stats.put(ownerId, current, clock.millis() + ttlMillis);
+            if (generations.get(stripe) != generation) {
+                stats.invalidate(ownerId);
+            }
+        }
+        return current;
+    }
+
+    private static int stripe(UUID ownerId) {
+        return ownerId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private ConflictException quotaExceeded() {
+        return new ConflictException("Item limit of " + maxItemsPerUser + " reached.");
+    }
+}
@@ -0,0 +1,25 @@
+package com.task.api.items;
+
+import com.task.api.items.dto.ItemResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by {@link ItemService} inside the transaction that changed the items of an owner.
+ * Listeners that act on committed state should use {@code @TransactionalEventListener}.
+ * @param ownerId id of the owner whose items changed
+ * @param version version of the owner's item list written by the transaction
+ * @param created items created by the transaction
+ * @param deleted ids of items deleted by the transaction
+ */
+public record ItemsChangedEvent(UUID ownerId, long version, List<ItemResponse> created, List<UUID> deleted) {
+
+    public static ItemsChangedEvent created(UUID ownerId, long version, List<ItemResponse> created) {
+        return new ItemsChangedEvent(ownerId, version, created, List.of());
+    }
+
+    public static ItemsChangedEvent deleted(UUID ownerId, long version, List<UUID> deleted) {
+        return new ItemsChangedEvent(ownerId, version, List.of(), deleted);
+    }
+}
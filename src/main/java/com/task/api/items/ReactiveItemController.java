@@ -0,0 +1,53 @@
+package com.task.api.items;
+
+import com.task.api.items.dto.CreateItemRequest;
+import com.task.api.items.dto.ItemResponse;
+import com.task.api.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link ItemController}, serving item creation and listing on the reactive runtime.
+ */
+@RestController
+@RequestMapping("/items")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveItemController {
+
+    private final ReactiveItemService itemService;
+
+    /**
+     * Creates a new item for the authenticated user.
+     * @param request contains new item's name
+     * @param principal authenticated user providing the owner's id
+     * @return completion of the insert
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> createItem(@RequestBody CreateItemRequest request, @AuthenticationPrincipal UserPrincipal principal) {
+        return itemService.createItem(request.getName(), principal.getId());
+    }
+
+    /**
+     * Retrieves all items owned by authenticated user, as a JSON array or as newline-delimited JSON.
+     * The response carries the same {@code ETag} as {@link ItemController#getItems}; a request whose
+     * {@code If-None-Match} still matches it is answered with 304 Not Modified without reading the items.
+     * @param principal authenticated user providing the owner's id
+     * @return items owned by user, written as they are read from the database
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<ItemResponse>>> getItems(@AuthenticationPrincipal UserPrincipal principal) {
+        return itemService.getVersion(principal.getId())
+                .map(version -> ResponseEntity.ok()
+                        .eTag(ItemStatsService.eTag(principal.getId(), version))
+                        .body(itemService.getItemsForUser(principal.getId())));
+    }
+}
@@ -0,0 +1,46 @@
+package com.task.api.items;
+
+import com.task.api.common.UuidBytes;
+import com.task.api.items.dto.ItemResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the {@link ItemRepository} queries used by the reactive runtime.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveItemRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Streams the live items of an owner as rows arrive from the database.
+     * @see ItemRepository#findResponsesByOwnerId(UUID)
+     */
+    public Flux<ItemResponse> findResponsesByOwnerId(UUID ownerId) {
+        return databaseClient.sql("select id, name from items where owner_id = :ownerId and deleted = false")
+                .bind("ownerId", UuidBytes.toBytes(ownerId))
+                .map(row -> new ItemResponse(UuidBytes.fromBytes(row.get("id", byte[].class)),
+                        row.get("name", String.class)))
+                .all();
+    }
+
+    public Mono<Void> insert(UUID id, UUID ownerId, String name, long seq) {
+        return databaseClient.sql("""
+                        insert into items (id, owner_id, name, seq, deleted)
+                        values (:id, :ownerId, :name, :seq, false)""")
+                .bind("id", UuidBytes.toBytes(id))
+                .bind("ownerId", UuidBytes.toBytes(ownerId))
+                .bind("name", name)
+                .bind("seq", seq)
+                .then();
+    }
+}
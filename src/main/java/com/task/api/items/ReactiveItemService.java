@@ -0,0 +1,89 @@
+package com.task.api.items;
+
+import com.task.api.common.ConflictException;
+import com.task.api.common.NotFoundException;
+import com.task.api.common.UuidV7;
+import com.task.api.items.dto.ItemResponse;
+import com.task.api.user.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the {@link ItemService} operations served by the reactive runtime.
+ * <p>
+ * Writes follow the same protocol as {@link ItemStatsService#recordChange}: the owner's row is updated
+ * first, which enforces the quota and serializes the owner's changes, and the new version becomes the
+ * sequence of the inserted item.
+ * </p>
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemService {
+
+    private final ReactiveItemRepository itemRepository;
+    private final ReactiveUserRepository userRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final long maxItemsPerUser;
+
+    public ReactiveItemService(ReactiveItemRepository itemRepository,
+                               ReactiveUserRepository userRepository,
+                               TransactionalOperator transactionalOperator,
+                               @Value("${items.max-per-user:100000}") long maxItemsPerUser) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.maxItemsPerUser = maxItemsPerUser;
+    }
+
+    /**
+     * Creates and saves a new item for a given owner in one transaction.
+     * @param itemName the name of the new item
+     * @param ownerId id of the item owner
+     * @return completion, {@link ConflictException} if the owner reached the item quota,
+     * or {@link NotFoundException} if the owner does not exist
+     */
+    public Mono<Void> createItem(String itemName, UUID ownerId) {
+        Mono<Void> create = userRepository.applyItemsChange(ownerId, 1, maxItemsPerUser)
+                .flatMap(updated -> updated > 0 ? Mono.<Void>empty() : retryWithItemCount(ownerId))
+                .then(userRepository.findItemsVersionById(ownerId))
+                .flatMap(version -> itemRepository.insert(UuidV7.generate(), ownerId, itemName, version));
+        return transactionalOperator.transactional(create);
+    }
+
+    private Mono<Void> retryWithItemCount(UUID ownerId) {
+        return userRepository.initItemCount(ownerId).flatMap(initialized -> initialized == 0
+                ? userRepository.existsById(ownerId).flatMap(exists -> Mono.<Void>error(exists
+                        ? quotaExceeded()
+                        : new NotFoundException("User not found.")))
+                : userRepository.applyItemsChange(ownerId, 1, maxItemsPerUser)
+                        .flatMap(updated -> updated > 0 ? Mono.<Void>empty() : Mono.error(quotaExceeded())));
+    }
+
+    /**
+     * Streams all items owned by a given user.
+     * @param ownerId id of the owner
+     * @return items of the owner, emitted as they are read
+     */
+    public Flux<ItemResponse> getItemsForUser(UUID ownerId) {
+        return itemRepository.findResponsesByOwnerId(ownerId);
+    }
+
+    /**
+     * Returns the committed version of the owner's item list.
+     * @param ownerId id of the owner
+     * @return version, which is 0 for an unknown owner
+     */
+    public Mono<Long> getVersion(UUID ownerId) {
+        return userRepository.findItemsVersionById(ownerId).defaultIfEmpty(0L);
+    }
+
+    private ConflictException quotaExceeded() {
+        return new ConflictException("Item limit of " + maxItemsPerUser + " reached.");
+    }
+}
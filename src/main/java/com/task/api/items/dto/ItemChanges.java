@@ -0,0 +1,16 @@
+package com.task.api.items.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+public class ItemChanges {
+
+    private List<ItemResponse> items;
+    private List<UUID> deleted;
+    private String syncToken;
+}
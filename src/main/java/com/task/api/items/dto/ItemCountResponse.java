@@ -0,0 +1,11 @@
+package com.task.api.items.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class ItemCountResponse {
+
+    private long count;
+}
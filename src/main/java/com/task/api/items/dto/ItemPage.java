@@ -0,0 +1,14 @@
+package com.task.api.items.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class ItemPage {
+
+    private List<ItemResponse> items;
+    private String nextCursor;
+}
@@ -0,0 +1,89 @@
+package com.task.api.metrics;
+
+import com.task.api.common.GroupCommitter;
+import com.task.api.datasource.ReplicaRoutingDataSource;
+import com.task.api.items.ItemEventBroadcaster;
+import com.task.api.items.ItemService;
+import com.task.api.items.ItemStatsService;
+import com.task.api.security.CustomUserDetailsService;
+import com.task.api.security.ExpiringCache;
+import com.task.api.security.JwtService;
+import com.task.api.security.PasswordHasher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the statistics the components already keep: the password hashing pool, the in-process caches,
+ * group commit, the item event broadcaster and the replica health.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApiMetricsBinder implements MeterBinder {
+
+    private final PasswordHasher passwordHasher;
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final ItemStatsService itemStatsService;
+    private final ItemService itemService;
+    private final ItemEventBroadcaster itemEventBroadcaster;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("password.hashing", passwordHasher,
+                        PasswordHasher::getHashCount, PasswordHasher::getHashNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent hashing on the password hashing pool")
+                .register(registry);
+        Gauge.builder("password.hashing.queue", passwordHasher, PasswordHasher::getQueueDepth).register(registry);
+        Gauge.builder("password.hashing.active", passwordHasher, PasswordHasher::getActiveCount).register(registry);
+        FunctionCounter.builder("password.hashing.rejected", passwordHasher, PasswordHasher::getRejectedCount)
+                .register(registry);
+
+        bindCache(registry, "jwt.verified", jwtService.getVerifiedTokens());
+        bindCache(registry, "principals", userDetailsService.getPrincipals());
+        bindCache(registry, "item.stats", itemStatsService.getStatsCache());
+
+        GroupCommitter<?> groupCommitter = itemService.getGroupCommitter();
+        if (groupCommitter != null) {
+            Gauge.builder("items.group.commit.queue", groupCommitter, GroupCommitter::getQueueDepth).register(registry);
+            FunctionTimer.builder("items.group.commit.flush", groupCommitter,
+                            GroupCommitter::getGroupCount, GroupCommitter::getFlushNanos, TimeUnit.NANOSECONDS)
+                    .register(registry);
+            FunctionCounter.builder("items.group.commit.entries", groupCommitter, GroupCommitter::getEntryCount)
+                    .register(registry);
+            FunctionCounter.builder("items.group.commit.rejected", groupCommitter, GroupCommitter::getRejectedCount)
+                    .register(registry);
+        }
+
+        Gauge.builder("items.events.subscribers", itemEventBroadcaster, ItemEventBroadcaster::getSubscriberCount)
+                .register(registry);
+        FunctionCounter.builder("items.events.delivered", itemEventBroadcaster, ItemEventBroadcaster::getDeliveredCount)
+                .register(registry);
+        FunctionCounter.builder("items.events.dropped", itemEventBroadcaster, ItemEventBroadcaster::getDroppedCount)
+                .register(registry);
+
+        replicaRoutingDataSource.ifAvailable(dataSource ->
+                Gauge.builder("datasource.replicas.healthy", dataSource, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                        .register(registry));
+    }
+
+    private static void bindCache(MeterRegistry registry, String name, ExpiringCache<?, ?> cache) {
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::getHitCount)
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::getMissCount)
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+        Gauge.builder("cache.size", cache, ExpiringCache::size)
+                .tags("cache", name)
+                .register(registry);
+    }
+}
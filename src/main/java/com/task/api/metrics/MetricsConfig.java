@@ -0,0 +1,32 @@
+package com.task.api.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Adds the time of every Spring Data repository call to the database phase of the current request.
+     * The calls themselves are timed by Spring Boot as {@code spring.data.repository.invocations}.
+     * @return post processor registering the invocation listener on every repository factory
+     */
+    @Bean
+    static BeanPostProcessor repositoryPhasePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(invocation ->
+                            RequestMetrics.addToCurrentRequest(RequestMetrics.Phase.DATABASE,
+                                    invocation.getDuration(TimeUnit.NANOSECONDS))));
+                }
+                return bean;
+            }
+        };
+    }
+}
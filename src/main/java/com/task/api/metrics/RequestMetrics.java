@@ -0,0 +1,109 @@
+package com.task.api.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records timers of the request hot path and breaks the time of every request down by phase.
+ * <p>
+ * Each timed call is recorded as its own timer, tagged by outcome, and its time is added to the phase of
+ * the request running on the current thread. When the request completes, {@link RequestMetricsFilter}
+ * records the phases as {@code api.request.phase}, tagged with the endpoint's URI pattern, method and
+ * outcome, so they can be set against the total time of {@code http.server.requests}.
+ * </p>
+ * <p>
+ * Timers are registered once per name and tags and then looked up in a map, so the hot path does not
+ * build and register a meter id on every call.
+ * </p>
+ */
+@Component
+public class RequestMetrics {
+
+    public static final String JWT_VERIFY = "api.auth.jwt.verify";
+    public static final String REVOCATION_CHECK = "api.auth.revocation.check";
+    public static final String PRINCIPAL_LOOKUP = "api.auth.principal.lookup";
+    public static final String PASSWORD_HASHING = "api.auth.password.hashing";
+    public static final String REQUEST_PHASE = "api.request.phase";
+
+    public enum Phase {
+        AUTH, PASSWORD_HASHING, DATABASE
+    }
+
+    private static final ThreadLocal<long[]> PHASE_NANOS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<List<String>, Timer[]> phaseTimers = new ConcurrentHashMap<>();
+
+    public RequestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records a call that started at the given time.
+     * @param name name of the timer
+     * @param phase phase of the request the call belongs to
+     * @param startNanos {@link System#nanoTime()} at the start of the call
+     * @param tags alternating tag keys and values
+     */
+    public void record(String name, Phase phase, long startNanos, String... tags) {
+        long nanos = System.nanoTime() - startNanos;
+        timer(name, tags).record(nanos, TimeUnit.NANOSECONDS);
+        addToCurrentRequest(phase, nanos);
+    }
+
+    /**
+     * Adds time to a phase of the request running on the current thread; ignored outside of requests.
+     * @param phase phase of the request
+     * @param nanos time spent, in nanoseconds
+     */
+    static void addToCurrentRequest(Phase phase, long nanos) {
+        long[] phases = PHASE_NANOS.get();
+        if (phases != null) {
+            phases[phase.ordinal()] += nanos;
+        }
+    }
+
+    void startRequest() {
+        PHASE_NANOS.set(new long[Phase.values().length]);
+    }
+
+    void finishRequest(String method, String uri, String outcome) {
+        long[] phases = PHASE_NANOS.get();
+        PHASE_NANOS.remove();
+        if (phases == null) {
+            return;
+        }
+        Timer[] timers = phaseTimers.computeIfAbsent(List.of(method, uri, outcome),
+                key -> registerPhaseTimers(method, uri, outcome));
+        for (Phase phase : Phase.values()) {
+            timers[phase.ordinal()].record(phases[phase.ordinal()], TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, String... tags) {
+        TimerKey key = new TimerKey(name, List.of(tags));
+        Timer timer = timers.get(key);
+        return timer != null ? timer : timers.computeIfAbsent(key,
+                k -> Timer.builder(name).tags(tags).register(meterRegistry));
+    }
+
+    private Timer[] registerPhaseTimers(String method, String uri, String outcome) {
+        Timer[] timers = new Timer[Phase.values().length];
+        for (Phase phase : Phase.values()) {
+            timers[phase.ordinal()] = Timer.builder(REQUEST_PHASE)
+                    .tags("method", method, "uri", uri, "outcome", outcome, "phase", phase.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        return timers;
+    }
+
+    private record TimerKey(String name, List<String> tags) {
+    }
+}
@@ -1,26 +1,73 @@
 package com.task.api.security;
 
 import com.task.api.user.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
+
 /**
  * Service for loading user-specific data during authentication.
  * Implements Spring Security's {@link UserDetailsService} interface.
  * Retrieves user data from the {@link UserRepository}.
+ * <p>
+ * Loaded users are kept as immutable {@link UserPrincipal} snapshots in a size- and TTL-bounded
+ * cache, so repeated requests of the same user do not query the database.
+ * </p>
  */
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final ExpiringCache<String, UserPrincipal> principals;
+    private final Duration principalTtl;
+    private final Clock clock;
+
+    @Autowired
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${security.principal-cache.max-size:10000}") int maxSize,
+                                    @Value("${security.principal-cache.ttl:60s}") Duration ttl) {
+        this(userRepository, maxSize, ttl, Clock.systemUTC());
+    }
+
+    CustomUserDetailsService(UserRepository userRepository, int maxSize, Duration ttl, Clock clock) {
+        this.userRepository = userRepository;
+        this.principals = new ExpiringCache<>(maxSize, clock);
+        this.principalTtl = ttl;
+        this.clock = clock;
+    }
 
     @Override
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByLogin(username)
+    public UserPrincipal loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserPrincipal cached = principals.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserPrincipal principal = userRepository.findByLogin(username)
+                .map(UserPrincipal::from)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        principals.put(username, principal, clock.millis() + principalTtl.toMillis());
+        return principal;
+    }
+
+    /**
+     * Removes the cached principal of the given user, so the next request reloads it.
+     * Has to be called whenever a user is registered or changed.
+     * @param login of the user
+     */
+    public void evict(String login) {
+        principals.invalidate(login);
+    }
+
+    /**
+     * @return cache of principals, exposed for monitoring of its hit ratio
+     */
+    public ExpiringCache<String, UserPrincipal> getPrincipals() {
+        return principals;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package com.task.api.security;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small, bounded, thread-safe in-process cache where every entry carries its own expiry instant.
+ * <p>
+ * Expired entries are dropped lazily on lookup. When the cache reaches its size limit, expired entries
+ * are swept at most once per second; if it is still full, the entry expiring soonest among a few sampled
+ * ones makes room for the new entry. Samples are taken by a cursor that moves around the whole map,
+ * so a flood of distinct keys keeps the cache at {@code maxSize} entries and costs each put only
+ * a constant amount of work.
+ * </p>
+ * @param <K> type of the keys
+ * @param <V> type of the cached values
+ */
+public class ExpiringCache<K, V> {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final int maxSize;
+    private final Clock clock;
+
+    /** Guarded by {@link #evictionLock}. */
+    private Iterator<Map.Entry<K, Entry<V>>> evictionCursor;
+    /** Guarded by {@link #evictionLock}. */
+    private long nextSweepAt;
+
+    public ExpiringCache(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    public ExpiringCache(int maxSize, Clock clock) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative.");
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached value for the given key, if it is present and not expired.
+     * @param key of the entry
+     * @return cached value or null
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > clock.millis()) {
+            hits.increment();
+            return entry.value();
+        }
+        if (entry != null) {
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches the value until the given instant, evicting another entry if the cache is full.
+     * @param key of the entry
+     * @param value to cache
+     * @param expiresAt epoch millis after which the entry is no longer returned
+     */
+    public void put(K key, V value, long expiresAt) {
+        long now = clock.millis();
+        if (expiresAt <= now || maxSize == 0) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom(now);
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    /**
+     * Removes the entry for the given key, if present.
+     * @param key of the entry
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return share of lookups answered from the cache, or 0 if there were no lookups yet
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom(long now) {
+        synchronized (evictionLock) {
+            if (entries.size() < maxSize) {
+                return;
+            }
+            if (now >= nextSweepAt) {
+                nextSweepAt = now + SWEEP_INTERVAL_MILLIS;
+                entries.values().removeIf(entry -> entry.expiresAt() <= now);
+                if (entries.size() < maxSize) {
+                    return;
+                }
+            }
+            evictSoonestExpiringOfSample();
+        }
+    }
+
+    private void evictSoonestExpiringOfSample() {
+        Map.Entry<K, Entry<V>> victim = null;
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+            if (evictionCursor == null || !evictionCursor.hasNext()) {
+                evictionCursor = entries.entrySet().iterator();
+                if (!evictionCursor.hasNext()) {
+                    break;
+                }
+            }
+            Map.Entry<K, Entry<V>> candidate = evictionCursor.next();
+            if (victim == null || candidate.getValue().expiresAt() < victim.getValue().expiresAt()) {
+                victim = candidate;
+            }
+        }
+        if (victim != null) {
+            entries.remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
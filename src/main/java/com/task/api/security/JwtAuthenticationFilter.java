@@ -1,5 +1,8 @@
 package com.task.api.security;
 
+import com.task.api.metrics.RequestMetrics;
+import com.task.api.metrics.RequestMetrics.Phase;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -22,10 +25,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter  {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RequestMetrics requestMetrics;
 
     /**
      * Processes incoming HTTP requests to extract and validate a JWT token.
      * If a valid token is found, sets the authentication in the SecurityContext.
+     * The token is verified once by {@link JwtService#extractClaims(String)}, which throws on
+     * invalid or expired tokens and serves repeated tokens from its verified-token cache.
+     * Revoked tokens are rejected through the in-memory check of {@link TokenRevocationService}.
+     * The principal is built from the token's claims; only tokens without the user id claim
+     * fall back to {@link CustomUserDetailsService}.
+     * Verification, the revocation check and the principal lookup are timed by {@link RequestMetrics}.
      * Otherwise, continues the filter chain or returns an error on token issues.
      * @param request the incoming HTTP request
      * @param response the HTTP response
@@ -45,30 +56,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter  {
         }
 
         String token = authHeader.substring(7);
+        long verifyStart = System.nanoTime();
 
         try {
-            String login = jwtService.extractLogin(token);
+            Claims claims = jwtService.extractClaims(token);
+            requestMetrics.record(RequestMetrics.JWT_VERIFY, Phase.AUTH, verifyStart, "outcome", "valid");
 
-            if (login != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(login);
+            long revocationStart = System.nanoTime();
+            boolean revoked = tokenRevocationService.isRevoked(claims.getId(), claims.getExpiration().toInstant());
+            requestMetrics.record(RequestMetrics.REVOCATION_CHECK, Phase.AUTH, revocationStart,
+                    "outcome", revoked ? "revoked" : "live");
+            if (revoked) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token revoked.");
+                return;
+            }
+
+            UserPrincipal principal = jwtService.extractPrincipal(claims);
 
+            if (principal.getLogin() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                long lookupStart = System.nanoTime();
+                UserDetails userDetails = principal.getId() != null
+                        ? principal
+                        : userDetailsService.loadUserByUsername(principal.getLogin());
+                requestMetrics.record(RequestMetrics.PRINCIPAL_LOOKUP, Phase.AUTH, lookupStart,
+                        "source", principal.getId() != null ? "token" : "store");
 
-                    if (jwtService.isTokenValid(token)) {
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails,
-                                        null,
-                                        userDetails.getAuthorities()
-                                );
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
 
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (ExpiredJwtException e) {
+            requestMetrics.record(RequestMetrics.JWT_VERIFY, Phase.AUTH, verifyStart, "outcome", "expired");
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token expired.");
             return;
         } catch (JwtException e) {
+            requestMetrics.record(RequestMetrics.JWT_VERIFY, Phase.AUTH, verifyStart, "outcome", "invalid");
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token.");
             return;
         }
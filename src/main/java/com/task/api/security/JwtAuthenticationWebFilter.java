@@ -0,0 +1,106 @@
+package com.task.api.security;
+
+import com.task.api.metrics.RequestMetrics;
+import com.task.api.metrics.RequestMetrics.Phase;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter} for the WebFlux runtime.
+ * <p>
+ * Verification and the principal built from the claims stay on the event loop. The two checks
+ * that may reach the database run on the bounded elastic scheduler: the revocation store is only
+ * queried for Bloom filter hits of {@link TokenRevocationService#mightBeRevoked}, and the user is
+ * only loaded for tokens without the user id claim.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RequestMetrics requestMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authHeader == null || !authHeader.startsWith("Bearer")) {
+            return chain.filter(exchange);
+        }
+
+        Claims claims;
+        UserPrincipal principal;
+        long verifyStart = System.nanoTime();
+        try {
+            claims = jwtService.extractClaims(authHeader.substring(7));
+            principal = jwtService.extractPrincipal(claims);
+            requestMetrics.record(RequestMetrics.JWT_VERIFY, Phase.AUTH, verifyStart, "outcome", "valid");
+        } catch (ExpiredJwtException e) {
+            requestMetrics.record(RequestMetrics.JWT_VERIFY, Phase.AUTH, verifyStart, "outcome", "expired");
+            return unauthorized(exchange.getResponse(), "Token expired.");
+        } catch (JwtException e) {
+            requestMetrics.record(RequestMetrics.JWT_VERIFY, Phase.AUTH, verifyStart, "outcome", "invalid");
+            return unauthorized(exchange.getResponse(), "Invalid token.");
+        }
+
+        return isRevoked(claims).flatMap(revoked -> {
+            if (revoked) {
+                return unauthorized(exchange.getResponse(), "Token revoked.");
+            }
+            if (principal.getLogin() == null) {
+                return chain.filter(exchange);
+            }
+            return loadPrincipal(principal).flatMap(userDetails -> chain.filter(exchange)
+                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()))));
+        });
+    }
+
+    private Mono<Boolean> isRevoked(Claims claims) {
+        long start = System.nanoTime();
+        if (!tokenRevocationService.mightBeRevoked(claims.getId(), claims.getExpiration().toInstant())) {
+            requestMetrics.record(RequestMetrics.REVOCATION_CHECK, Phase.AUTH, start, "outcome", "live");
+            return Mono.just(false);
+        }
+        return Mono.fromCallable(() -> tokenRevocationService.isRevoked(claims.getId(), claims.getExpiration().toInstant()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(revoked -> requestMetrics.record(RequestMetrics.REVOCATION_CHECK, Phase.AUTH, start,
+                        "outcome", revoked ? "revoked" : "live"));
+    }
+
+    private Mono<UserPrincipal> loadPrincipal(UserPrincipal principal) {
+        if (principal.getId() != null) {
+            return Mono.just(principal);
+        }
+        long start = System.nanoTime();
+        return Mono.fromCallable(() -> userDetailsService.loadUserByUsername(principal.getLogin()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(loaded -> requestMetrics.record(RequestMetrics.PRINCIPAL_LOOKUP, Phase.AUTH, start,
+                        "source", "store"));
+    }
+
+    private static Mono<Void> unauthorized(ServerHttpResponse response, String message) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+        DataBuffer body = response.bufferFactory().wrap(message.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+}
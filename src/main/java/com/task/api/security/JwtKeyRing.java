@@ -0,0 +1,142 @@
+package com.task.api.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keys used to sign and verify JWT tokens, indexed by their key id ({@code kid}).
+ * <p>
+ * Keys are loaded from a PKCS12 keystore shared by all nodes, where every alias is a key id:
+ * <ul>
+ *     <li>secret key entries (HmacSHA256) sign and verify HS256 tokens,</li>
+ *     <li>private key entries (EC P-256) sign ES256 tokens and verify them with the certificate's public key,</li>
+ *     <li>trusted certificate entries only verify ES256 tokens, so edge nodes do not need to hold a secret.</li>
+ * </ul>
+ * New tokens are signed with the active key. Keys are rotated by adding a new alias, making it
+ * active and removing the old one once the tokens signed with it have expired.
+ * </p>
+ * <p>
+ * Without a configured keystore an ephemeral HS256 key is generated, which is only usable on a single
+ * node and is lost on restart.
+ * </p>
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private final String activeKeyId;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys;
+
+    @Autowired
+    public JwtKeyRing(@Value("${security.jwt.keystore.location:}") Resource keystore,
+                      @Value("${security.jwt.keystore.password:}") String password,
+                      @Value("${security.jwt.active-key-id:}") String activeKeyId) throws IOException, GeneralSecurityException {
+        if (keystore == null || !keystore.exists()) {
+            log.warn("No JWT keystore configured, using an ephemeral signing key. Tokens will not be valid on other nodes or after restart.");
+            JwtKeyRing ephemeral = ephemeral();
+            this.activeKeyId = ephemeral.activeKeyId;
+            this.signingKey = ephemeral.signingKey;
+            this.verificationKeys = ephemeral.verificationKeys;
+            return;
+        }
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream inputStream = keystore.getInputStream()) {
+            keyStore.load(inputStream, password.toCharArray());
+        }
+
+        Map<String, Key> keys = new HashMap<>();
+        Key activeKey = null;
+        KeyStore.PasswordProtection protection = new KeyStore.PasswordProtection(password.toCharArray());
+        for (String alias : Collections.list(keyStore.aliases())) {
+            if (keyStore.isCertificateEntry(alias)) {
+                keys.put(alias, keyStore.getCertificate(alias).getPublicKey());
+                continue;
+            }
+            KeyStore.Entry entry = keyStore.getEntry(alias, protection);
+            if (entry instanceof KeyStore.SecretKeyEntry secretKeyEntry) {
+                keys.put(alias, secretKeyEntry.getSecretKey());
+                if (alias.equals(activeKeyId)) {
+                    activeKey = secretKeyEntry.getSecretKey();
+                }
+            } else if (entry instanceof KeyStore.PrivateKeyEntry privateKeyEntry) {
+                keys.put(alias, privateKeyEntry.getCertificate().getPublicKey());
+                if (alias.equals(activeKeyId)) {
+                    activeKey = privateKeyEntry.getPrivateKey();
+                }
+            }
+        }
+
+        if (StringUtils.hasText(activeKeyId) && activeKey == null) {
+            throw new IllegalStateException("Active JWT key '" + activeKeyId + "' is not a signing key in the keystore.");
+        }
+        this.activeKeyId = StringUtils.hasText(activeKeyId) ? activeKeyId : null;
+        this.signingKey = activeKey;
+        this.verificationKeys = Map.copyOf(keys);
+    }
+
+    private JwtKeyRing(String activeKeyId, Key signingKey, Map<String, Key> verificationKeys) {
+        this.activeKeyId = activeKeyId;
+        this.signingKey = signingKey;
+        this.verificationKeys = verificationKeys;
+    }
+
+    /**
+     * Creates a key ring with a single random HS256 key.
+     * @return key ring usable on a single node only
+     */
+    public static JwtKeyRing ephemeral() {
+        String keyId = UUID.randomUUID().toString();
+        Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        return new JwtKeyRing(keyId, key, Map.of(keyId, key));
+    }
+
+    /**
+     * @return id of the key new tokens are signed with
+     * @throws IllegalStateException if this node holds only verification keys
+     */
+    public String getActiveKeyId() {
+        requireSigningKey();
+        return activeKeyId;
+    }
+
+    /**
+     * @return key new tokens are signed with
+     * @throws IllegalStateException if this node holds only verification keys
+     */
+    public Key getSigningKey() {
+        requireSigningKey();
+        return signingKey;
+    }
+
+    /**
+     * @param keyId the {@code kid} header of a token
+     * @return key verifying tokens with the given key id, or null if the key is unknown or retired
+     */
+    public Key getVerificationKey(String keyId) {
+        return keyId == null ? null : verificationKeys.get(keyId);
+    }
+
+    private void requireSigningKey() {
+        if (signingKey == null) {
+            throw new IllegalStateException("No active JWT signing key is configured on this node.");
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.task.api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.MissingClaimException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Service responsible for generating, parsing, and validating JWT tokens.
@@ -16,30 +26,47 @@ import java.util.Date;
  * Used in authentication flow to create access tokens for authenticated users
  * and to extract user details from tokens during request filtering.
  * </p>
+ * <p>
+ * Tokens are verified with the key of the {@link JwtKeyRing} named by their {@code kid} header.
+ * Claims of successfully verified tokens are kept in a bounded cache keyed by the SHA-256 digest
+ * of the token until the token expires, so each distinct token is signature-checked only once.
+ * </p>
  */
 @Service
 public class JwtService {
 
     private static final long EXPIRATION_TIME = 3600000;
+    private static final String USER_ID_CLAIM = "uid";
 
-    private final Key secretKey;
+    private final JwtKeyRing keyRing;
+    private final JwtParser jwtParser;
+    private final ExpiringCache<String, Claims> verifiedTokens;
 
-    public JwtService() {
-        this.secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-        System.out.println("Generated JWT secret key (base64): " + java.util.Base64.getEncoder().encodeToString(secretKey.getEncoded()));
+    public JwtService(JwtKeyRing keyRing, @Value("${security.jwt.verified-cache-size:10000}") int verifiedCacheSize) {
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyIdResolver(keyRing))
+                .build();
+        this.verifiedTokens = new ExpiringCache<>(verifiedCacheSize);
     }
 
     /**
      * Generates a new JWT token for the given user.
+     * Every token gets a unique {@code jti} claim, so it can be revoked individually,
+     * and a {@code kid} header naming the key it is signed with.
+     * @param userId of the user, stored in the {@code uid} claim
      * @param login for which to generate the token
      * @return a signed JWT token as a String
      */
-    public String generateToken(String login) {
+    public String generateToken(UUID userId, String login) {
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKeyId())
+                .setId(UUID.randomUUID().toString())
                 .setSubject(login)
+                .claim(USER_ID_CLAIM, userId.toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(secretKey)
+                .signWith(keyRing.getSigningKey())
                 .compact();
     }
 
@@ -47,12 +74,44 @@ public class JwtService {
      * Extracts the login (subject) from the given JWT token.
      * @param token the JWT token to parse
      * @return the login (subject) stored in the token
-     * @throws JwtException if the token is malformed or invalid
+     * @throws JwtException if the token is malformed, invalid, expired or has no expiration
      */
     public String extractLogin(String token) {
         return parseClaims(token).getSubject();
     }
 
+    /**
+     * Extracts the authenticated user from the given JWT token, without a database lookup.
+     * @param token the JWT token to parse
+     * @return principal with the login and id stored in the token; the id is null for tokens
+     * issued without the {@code uid} claim
+     * @throws JwtException if the token is malformed, invalid, expired or has no expiration
+     */
+    public UserPrincipal extractPrincipal(String token) {
+        return extractPrincipal(parseClaims(token));
+    }
+
+    /**
+     * Builds the authenticated user from already verified claims.
+     * @param claims verified claims of a token
+     * @return principal with the login and id stored in the claims
+     * @throws MalformedJwtException if the {@code uid} claim is not a UUID
+     */
+    public UserPrincipal extractPrincipal(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        return new UserPrincipal(userId == null ? null : parseUserId(userId), claims.getSubject(), null, false);
+    }
+
+    /**
+     * Verifies the given JWT token and returns all of its claims.
+     * @param token the JWT token to parse
+     * @return verified claims of the token
+     * @throws JwtException if the token is malformed, invalid, expired or has no expiration
+     */
+    public Claims extractClaims(String token) {
+        return parseClaims(token);
+    }
+
     /**
      * Validates the given JWT token if it is properly signed and not expired
      * @param token the JWT token to validate
@@ -67,11 +126,65 @@ public class JwtService {
         }
     }
 
+    /**
+     * @return cache of verified tokens, exposed for monitoring of its hit and miss counters
+     */
+    public ExpiringCache<String, Claims> getVerifiedTokens() {
+        return verifiedTokens;
+    }
+
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("Token must not be empty.");
+        }
+        String digest = digest(token);
+        Claims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        Jws<Claims> jws = jwtParser.parseClaimsJws(token);
+        Claims claims = jws.getBody();
+        // tokens minted elsewhere with the shared keys must expire too, revocation relies on it
+        if (claims.getExpiration() == null) {
+            throw new MissingClaimException(jws.getHeader(), claims, "Token has no expiration.");
+        }
+        verifiedTokens.put(digest, claims, claims.getExpiration().getTime());
+        return claims;
+    }
+
+    private static UUID parseUserId(String userId) {
+        try {
+            return UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Token has a malformed user id.", e);
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    private static class KeyIdResolver extends SigningKeyResolverAdapter {
+
+        private final JwtKeyRing keyRing;
+
+        KeyIdResolver(JwtKeyRing keyRing) {
+            this.keyRing = keyRing;
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            Key key = keyRing.getVerificationKey(header.getKeyId());
+            if (key == null) {
+                throw new JwtException("Unknown signing key.");
+            }
+            return key;
+        }
     }
-}
\ No newline at end of file
+}
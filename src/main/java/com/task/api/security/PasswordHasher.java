@@ -0,0 +1,173 @@
+package com.task.api.security;
+
+import com.task.api.common.ServiceBusyException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs CPU-bound password hashing and matching on a dedicated pool sized to the core count.
+ * <p>
+ * The pool has a bounded queue; when it is full, the request is rejected right away with
+ * {@link ServiceBusyException} instead of tying up a request thread, so a burst of logins
+ * cannot starve the rest of the traffic.
+ * </p>
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${security.password-hashing.threads:0}") int threads,
+                          @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${security.password-hashing.retry-after:1s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Hashes the given raw password.
+     * @param rawPassword password to hash
+     * @return encoded password
+     * @throws ServiceBusyException if the hashing queue is full
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Verifies the raw password against the encoded one.
+     * @param rawPassword password to check
+     * @param encodedPassword stored password hash
+     * @return true if the passwords match
+     * @throws ServiceBusyException if the hashing queue is full
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes the given raw password without blocking the caller.
+     * @param rawPassword password to hash
+     * @return future of the encoded password, failed with {@link ServiceBusyException} if the hashing queue is full
+     */
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return submitAsync(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Verifies the raw password against the encoded one without blocking the caller.
+     * @param rawPassword password to check
+     * @param encodedPassword stored password hash
+     * @return future of the result, failed with {@link ServiceBusyException} if the hashing queue is full
+     */
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        return submitAsync(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getHashCount() {
+        return hashCount.sum();
+    }
+
+    /**
+     * @return total time spent hashing on the pool, in nanoseconds
+     */
+    public long getHashNanos() {
+        return hashNanos.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        CompletableFuture<T> future = submitAsync(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Password hashing was interrupted.", retryAfter);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed.", e.getCause());
+        }
+    }
+
+    private <T> CompletableFuture<T> submitAsync(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(timed(task));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            future.completeExceptionally(
+                    new ServiceBusyException("Too many authentication requests, try again later.", retryAfter));
+        }
+        return future;
+    }
+
+    private <T> T timed(Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            hashNanos.add(System.nanoTime() - start);
+            hashCount.increment();
+        }
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.task.api.security;
+
+import com.task.api.metrics.RequestMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Security of the reactive runtime, mirroring {@link SecurityConfig}: stateless JWT authentication,
+ * open {@code /login} and {@code /register}, and 403 Forbidden for unauthenticated requests.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain reactiveSecurityFilterChain(ServerHttpSecurity http,
+                                                              JwtService jwtService,
+                                                              CustomUserDetailsService userDetailsService,
+                                                              TokenRevocationService tokenRevocationService,
+                                                              RequestMetrics requestMetrics) {
+        JwtAuthenticationWebFilter jwtAuthenticationWebFilter =
+                new JwtAuthenticationWebFilter(jwtService, userDetailsService, tokenRevocationService, requestMetrics);
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/login", "/register", "/actuator/health", "/actuator/prometheus").permitAll()
+                        .anyExchange().authenticated()
+                )
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN))
+                )
+                .addFilterAt(jwtAuthenticationWebFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.task.api.security;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
+import java.time.Instant;
+
+/**
+ * Authoritative record of a JWT revoked before its expiration, identified by its {@code jti} claim.
+ * The revocation time is assigned by the database on insert, so the revocations of all nodes share one clock.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "revoked_tokens", indexes = @Index(columnList = "revokedAt"))
+public class RevokedToken {
+
+    @Id
+    private String tokenId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(nullable = false, updatable = false)
+    private Instant revokedAt;
+
+    public RevokedToken(String tokenId, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+}
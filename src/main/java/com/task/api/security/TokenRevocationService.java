@@ -0,0 +1,141 @@
+package com.task.api.security;
+
+import com.task.api.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of JWTs revoked before their expiration.
+ * <p>
+ * {@link RevokedTokenRepository} is the authoritative store. The hot-path check goes through
+ * in-memory Bloom filters, one per expiry window of the token lifetime: a token whose id is
+ * not in the filter of its expiry window is known to be live without touching the database,
+ * and only a positive hit is confirmed against the store. Filters of windows whose tokens
+ * have all expired are dropped, so memory stays bounded by the revocations of live tokens.
+ * </p>
+ * <p>
+ * Revocations made on other nodes are picked up by {@link #refresh()}, which loads the token ids
+ * revoked since the latest revocation time it has seen, minus {@code security.revocation.refresh-overlap}.
+ * Revocation times come from the database clock, so clock skew between nodes cannot hide a revocation;
+ * the overlap only has to cover revocations committed later than newer ones. Both the refresh and the confirmation of a filter hit read
+ * the primary, so a revocation is never hidden by the lag of a read replica.
+ * </p>
+ */
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Map<Long, BloomFilter> filtersByWindow = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final int expectedRevocationsPerWindow;
+    private final double falsePositiveRate;
+    private final Duration refreshOverlap;
+    private final Clock clock;
+    private volatile Instant latestRevokedAt = Instant.EPOCH;
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${security.revocation.window:1h}") Duration window,
+                                  @Value("${security.revocation.expected-per-window:100000}") int expectedRevocationsPerWindow,
+                                  @Value("${security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${security.revocation.refresh-overlap:30s}") Duration refreshOverlap) {
+        this(revokedTokenRepository, window, expectedRevocationsPerWindow, falsePositiveRate, refreshOverlap,
+                Clock.systemUTC());
+    }
+
+    TokenRevocationService(RevokedTokenRepository revokedTokenRepository, Duration window,
+                           int expectedRevocationsPerWindow, double falsePositiveRate, Duration refreshOverlap,
+                           Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.windowMillis = window.toMillis();
+        this.expectedRevocationsPerWindow = expectedRevocationsPerWindow;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshOverlap = refreshOverlap;
+        this.clock = clock;
+    }
+
+    /**
+     * Revokes the token with the given id until it expires.
+     * @param tokenId the {@code jti} claim of the token
+     * @param expiresAt expiration of the token
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        Instant now = clock.instant();
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        filterFor(expiresAt).add(tokenId);
+    }
+
+    /**
+     * Checks whether the token with the given id was revoked.
+     * Non-revoked tokens are answered from memory; only Bloom filter hits query the store.
+     * @param tokenId the {@code jti} claim of the token
+     * @param expiresAt expiration of the token
+     * @return true if the token was revoked
+     */
+    public boolean isRevoked(String tokenId, Instant expiresAt) {
+        return mightBeRevoked(tokenId, expiresAt)
+                && ReplicaRoutingDataSource.onPrimary(() -> revokedTokenRepository.existsById(tokenId));
+    }
+
+    /**
+     * Checks the in-memory filters only, so callers that must not block can skip the store
+     * for the tokens known to be live and confirm the rest with {@link #isRevoked}.
+     * @param tokenId the {@code jti} claim of the token
+     * @param expiresAt expiration of the token
+     * @return false if the token is certainly not revoked
+     */
+    public boolean mightBeRevoked(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            return false;
+        }
+        BloomFilter filter = filtersByWindow.get(windowOf(expiresAt));
+        return filter != null && filter.mightContain(tokenId);
+    }
+
+    /**
+     * Loads revocations made since the last refresh, including those of other nodes,
+     * and drops filters and stored revocations of windows whose tokens have all expired.
+     * Revocations within the overlap are loaded again, which is harmless for the filters.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval:5s}", initialDelay = 0)
+    public void refresh() {
+        Instant now = clock.instant();
+        Instant since = latestRevokedAt.minus(refreshOverlap);
+        List<RevokedToken> recent = ReplicaRoutingDataSource.onPrimary(
+                () -> revokedTokenRepository.findByExpiresAtAfterAndRevokedAtAfter(now, since));
+        Instant latest = latestRevokedAt;
+        for (RevokedToken revoked : recent) {
+            filterFor(revoked.getExpiresAt()).add(revoked.getTokenId());
+            if (revoked.getRevokedAt().isAfter(latest)) {
+                latest = revoked.getRevokedAt();
+            }
+        }
+        latestRevokedAt = latest;
+
+        long currentWindow = windowOf(now);
+        if (filtersByWindow.keySet().removeIf(window -> window < currentWindow)) {
+            revokedTokenRepository.deleteExpired(now);
+        }
+    }
+
+    private BloomFilter filterFor(Instant expiresAt) {
+        return filtersByWindow.computeIfAbsent(windowOf(expiresAt),
+                window -> new BloomFilter(expectedRevocationsPerWindow, falsePositiveRate));
+    }
+
+    private long windowOf(Instant expiresAt) {
+        return expiresAt.toEpochMilli() / windowMillis;
+    }
+}
@@ -0,0 +1,46 @@
+package com.task.api.security;
+
+import com.task.api.user.User;
+import lombok.ToString;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of an authenticated user.
+ * <p>
+ * Unlike the JPA-managed {@link User}, it holds no persistence context or lazy collections,
+ * so it can be cached and shared between requests.
+ * </p>
+ * <p>
+ * Principals built from token claims are never admins; the admin role is only known from the stored user.
+ * </p>
+ */
+@Value
+public class UserPrincipal implements UserDetails {
+
+    UUID id;
+    String login;
+    @ToString.Exclude
+    String password;
+    boolean admin;
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getLogin(), user.getPassword(), user.isAdmin());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return admin ? List.of(new SimpleGrantedAuthority(User.ADMIN_AUTHORITY)) : List.of();
+    }
+
+    @Override
+    public String getUsername() {
+        return login;
+    }
+}
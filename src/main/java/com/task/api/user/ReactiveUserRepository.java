@@ -0,0 +1,94 @@
+package com.task.api.user;
+
+import com.task.api.common.UuidBytes;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the {@link UserRepository} queries used by the reactive runtime.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<User> findByLogin(String login) {
+        return databaseClient.sql("select id, login, password from users where login = :login")
+                .bind("login", login)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    /**
+     * Inserts a new user with an empty item list.
+     * @param user with id, login and encoded password
+     * @return completion, or {@link org.springframework.dao.DataIntegrityViolationException} if the login exists
+     */
+    public Mono<Void> insert(User user) {
+        return databaseClient.sql("""
+                        insert into users (id, login, password, items_version, item_count, admin)
+                        values (:id, :login, :password, 0, 0, false)""")
+                .bind("id", UuidBytes.toBytes(user.getId()))
+                .bind("login", user.getLogin())
+                .bind("password", user.getPassword())
+                .then();
+    }
+
+    public Mono<Boolean> existsById(UUID id) {
+        return databaseClient.sql("select 1 from users where id = :id")
+                .bind("id", UuidBytes.toBytes(id))
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    public Mono<Long> findItemsVersionById(UUID id) {
+        return databaseClient.sql("select items_version from users where id = :id")
+                .bind("id", UuidBytes.toBytes(id))
+                .map(row -> row.get("items_version", Long.class))
+                .one();
+    }
+
+    /**
+     * @see UserRepository#applyItemsChange(UUID, long, long)
+     */
+    public Mono<Long> applyItemsChange(UUID id, long delta, long max) {
+        return databaseClient.sql("""
+                        update users set items_version = items_version + 1, item_count = item_count + :delta
+                        where id = :id and item_count is not null and item_count + :delta <= :max""")
+                .bind("id", UuidBytes.toBytes(id))
+                .bind("delta", delta)
+                .bind("max", max)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * @see UserRepository#initItemCount(UUID)
+     */
+    public Mono<Long> initItemCount(UUID id) {
+        return databaseClient.sql("""
+                        update users set item_count =
+                            (select count(*) from items where owner_id = :id and deleted = false)
+                        where id = :id and item_count is null""")
+                .bind("id", UuidBytes.toBytes(id))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static User toUser(Readable row) {
+        User user = new User();
+        user.setId(UuidBytes.fromBytes(row.get("id", byte[].class)));
+        user.setLogin(row.get("login", String.class));
+        user.setPassword(row.get("password", String.class));
+        return user;
+    }
+}
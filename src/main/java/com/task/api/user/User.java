@@ -1,10 +1,15 @@
 package com.task.api.user;
 
+import com.task.api.common.TimeOrderedId;
 import com.task.api.items.Item;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.ArrayList;
@@ -12,27 +17,50 @@ import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
-@Data
+/**
+ * Entities compare by identity; the generated {@code toString} leaves out the password and the lazy items,
+ * so that logging a user never loads its items.
+ */
+@Getter
+@Setter
+@ToString
 @Entity
 @Table(name = "users")
 public class User implements UserDetails {
 
+    /** Authority of users allowed to use the {@code /admin} endpoints. */
+    public static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
     @Id
-    @GeneratedValue
+    @TimeOrderedId
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
     private UUID id;
 
     @Column(unique = true, nullable = false)
     private String login;
 
+    @ToString.Exclude
     @Column(nullable = false)
     private String password;
 
+    @Column(nullable = false)
+    private long itemsVersion;
+
+    /** Null for users created before items were counted; counted on first use. */
+    private Long itemCount = 0L;
+
+    /** Granted out-of-band by updating the stored user; registration and provisioning never set it. */
+    @Column(nullable = false)
+    private boolean admin;
+
+    @ToString.Exclude
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Item> items = new ArrayList<>();
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of();
+        return admin ? List.of(new SimpleGrantedAuthority(ADMIN_AUTHORITY)) : List.of();
     }
 
     @Override
@@ -1,12 +1,43 @@
 package com.task.api.user;
 
+import com.task.api.items.ItemStats;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+    @Transactional(readOnly = true)
     Optional<User> findByLogin(String login);
+
+    boolean existsByLogin(String login);
+
+    @Query("select u.login from User u where u.login in :logins")
+    List<String> findExistingLogins(Collection<String> logins);
+
+    @Query("select new com.task.api.items.ItemStats(u.itemsVersion, u.itemCount) from User u where u.id = :id")
+    Optional<ItemStats> findItemStatsById(UUID id);
+
+    @Query("select u.itemsVersion from User u where u.id = :id")
+    Optional<Long> findItemsVersionById(UUID id);
+
+    @Modifying
+    @Query("""
+            update User u set u.itemsVersion = u.itemsVersion + 1, u.itemCount = u.itemCount + :delta
+            where u.id = :id and u.itemCount is not null and u.itemCount + :delta <= :max""")
+    int applyItemsChange(UUID id, long delta, long max);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u set u.itemCount = (select count(i) from Item i where i.owner.id = :id and i.deleted = false)
+            where u.id = :id and u.itemCount is null""")
+    int initItemCount(UUID id);
 }
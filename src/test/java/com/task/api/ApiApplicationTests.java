@@ -0,0 +1,14 @@
+package com.task.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ApiApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+}
@@ -0,0 +1,194 @@
+package com.task.api;
+
+import com.task.api.security.JwtKeyRing;
+import com.task.api.security.JwtService;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Endpoints served by both runtimes, checked over HTTP so the servlet and the reactive stack
+ * are held to the same contract.
+ */
+public abstract class ApiContractTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    protected String login;
+
+    @BeforeEach
+    void setUp() {
+        login = "contract-" + System.nanoTime();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void registeredUserShouldCreateAndListItems() throws Exception {
+        //given
+        String token = registerAndLogin();
+
+        //when
+        HttpResponse<String> created = send(authorized("/items", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"first\"}")));
+        HttpResponse<String> items = send(authorized("/items", token).header("Accept", "application/json").GET());
+
+        //then
+        assertEquals(204, created.statusCode());
+        assertEquals(200, items.statusCode());
+        assertTrue(items.body().matches("\\[\\{\"id\":\"[0-9a-f-]{36}\",\"name\":\"first\"}]"), items.body());
+        String eTag = items.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> notModified = send(authorized("/items", token)
+                .header("Accept", "application/json").header("If-None-Match", eTag).GET());
+        assertEquals(304, notModified.statusCode());
+    }
+
+    @Test
+    void itemsShouldBeStreamedAsNdjson() throws Exception {
+        //given
+        String token = registerAndLogin();
+        for (String name : List.of("first", "second")) {
+            send(authorized("/items", token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"" + name + "\"}")));
+        }
+
+        //when
+        HttpResponse<String> items = send(authorized("/items", token).header("Accept", "application/x-ndjson").GET());
+
+        //then
+        assertEquals(200, items.statusCode());
+        List<String> lines = items.body().lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.startsWith("{\"id\":")), items.body());
+    }
+
+    @Test
+    void registeringExistingLoginShouldConflict() throws Exception {
+        //given
+        registerAndLogin();
+
+        //when
+        HttpResponse<String> response = send(register());
+
+        //then
+        assertEquals(409, response.statusCode());
+    }
+
+    @Test
+    void itemsShouldRequireValidToken() throws Exception {
+        //when
+        HttpResponse<String> anonymous = send(request("/items").GET());
+        HttpResponse<String> invalid = send(authorized("/items", "invalid").GET());
+
+        //then
+        assertEquals(403, anonymous.statusCode());
+        assertEquals(401, invalid.statusCode());
+    }
+
+    @Test
+    void tokenWithMalformedUserIdShouldBeRejected() throws Exception {
+        //given
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKeyId())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(login)
+                .claim("uid", "not-a-uuid")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyRing.getSigningKey())
+                .compact();
+
+        //when
+        HttpResponse<String> response = send(authorized("/items", token).GET());
+
+        //then
+        assertEquals(401, response.statusCode());
+    }
+
+    @Test
+    void creatingItemForUnknownUserShouldReturnNotFound() throws Exception {
+        //given
+        String token = jwtService.generateToken(UUID.randomUUID(), login);
+
+        //when
+        HttpResponse<String> response = send(authorized("/items", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"orphan\"}")));
+
+        //then
+        assertEquals(404, response.statusCode());
+    }
+
+    @Test
+    void loggedOutTokenShouldBeRejected() throws Exception {
+        //given
+        String token = registerAndLogin();
+
+        //when
+        HttpResponse<String> logout = send(authorized("/logout", token).POST(HttpRequest.BodyPublishers.noBody()));
+        HttpResponse<String> items = send(authorized("/items", token).GET());
+
+        //then
+        assertEquals(204, logout.statusCode());
+        assertEquals(401, items.statusCode());
+    }
+
+    protected String registerAndLogin() throws IOException, InterruptedException {
+        assertEquals(204, send(register()).statusCode());
+        HttpResponse<String> response = send(request("/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials())));
+        assertEquals(200, response.statusCode());
+        return response.body().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+    }
+
+    private HttpRequest.Builder register() {
+        return request("/register")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials()));
+    }
+
+    private String credentials() {
+        return "{\"login\":\"" + login + "\",\"password\":\"123\"}";
+    }
+
+    protected HttpRequest.Builder authorized(String path, String token) {
+        return request(path).header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    }
+
+    protected HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,51 @@
+package com.task.api;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots the application on random ports and a fresh in-memory H2 database in MySQL mode,
+ * for benchmarks that measure the service and persistence layers.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return start(Map.of());
+    }
+
+    public static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        return start(overrides, List.of());
+    }
+
+    public static ConfigurableApplicationContext start(Map<String, Object> overrides,
+                                                       List<ApplicationContextInitializer<?>> initializers) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("items.stream.fetch-size", "500");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "warn");
+        properties.putAll(overrides);
+
+        SpringApplication application = new SpringApplication(ApiApplication.class);
+        application.addInitializers(initializers.toArray(ApplicationContextInitializer[]::new));
+        return application.run(properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+    }
+}
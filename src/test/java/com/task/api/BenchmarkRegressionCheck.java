@@ -0,0 +1,99 @@
+package com.task.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with a baseline recorded earlier and fails when a benchmark got slower,
+ * or allocates more per operation, by more than the threshold.
+ * <p>
+ * Results are matched by benchmark name and parameters; benchmarks missing from either file are skipped.
+ * Throughput scores regress when they drop, all other modes when they rise. Allocation per operation is
+ * only compared when both runs used {@code -prof gc}.
+ * </p>
+ * Usage: {@code BenchmarkRegressionCheck <result.json> <baseline.json> <threshold percent>}
+ */
+public final class BenchmarkRegressionCheck {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkRegressionCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File result = new File(args[0]);
+        File baseline = new File(args[1]);
+        double thresholdPercent = Double.parseDouble(args[2]);
+        if (!baseline.isFile()) {
+            System.out.println("No benchmark baseline at " + baseline + ", skipping the regression check.");
+            return;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> regressions = findRegressions(objectMapper.readTree(result), objectMapper.readTree(baseline),
+                thresholdPercent);
+        if (!regressions.isEmpty()) {
+            regressions.forEach(System.out::println);
+            System.out.println(regressions.size() + " benchmark regression(s) beyond " + thresholdPercent + "%.");
+            System.exit(1);
+        }
+        System.out.println("No benchmark regressions beyond " + thresholdPercent + "%.");
+    }
+
+    /**
+     * @param results JMH results of the current run
+     * @param baseline JMH results of the baseline run
+     * @param thresholdPercent tolerated change in percent
+     * @return a description of every regression, empty if there are none
+     */
+    static List<String> findRegressions(JsonNode results, JsonNode baseline, double thresholdPercent) {
+        Map<String, JsonNode> baselineByKey = new HashMap<>();
+        baseline.forEach(run -> baselineByKey.put(key(run), run));
+
+        List<String> regressions = new ArrayList<>();
+        for (JsonNode run : results) {
+            JsonNode previous = baselineByKey.get(key(run));
+            if (previous == null) {
+                continue;
+            }
+            boolean higherIsBetter = run.path("mode").asText().equals("thrpt");
+            compare(key(run), run.path("primaryMetric"), previous.path("primaryMetric"), higherIsBetter,
+                    thresholdPercent, regressions);
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            JsonNode previousAllocation = previous.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            if (!allocation.isMissingNode() && !previousAllocation.isMissingNode()) {
+                compare(key(run) + " allocation", allocation, previousAllocation, false, thresholdPercent, regressions);
+            }
+        }
+        return regressions;
+    }
+
+    private static void compare(String name, JsonNode metric, JsonNode previousMetric, boolean higherIsBetter,
+                                double thresholdPercent, List<String> regressions) {
+        double score = metric.path("score").asDouble();
+        double previousScore = previousMetric.path("score").asDouble();
+        if (previousScore == 0) {
+            return;
+        }
+        double changePercent = (score - previousScore) / previousScore * 100;
+        if (higherIsBetter ? -changePercent > thresholdPercent : changePercent > thresholdPercent) {
+            regressions.add(String.format("%s: %.3f -> %.3f %s (%+.1f%%)", name, previousScore, score,
+                    metric.path("scoreUnit").asText(), changePercent));
+        }
+    }
+
+    private static String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+        run.path("params").properties().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(param -> key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+        return key.toString();
+    }
+}
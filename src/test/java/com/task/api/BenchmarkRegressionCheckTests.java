@@ -0,0 +1,65 @@
+package com.task.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BenchmarkRegressionCheckTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void slowerAverageTimeBeyondThresholdShouldBeReported() throws Exception {
+        //given
+        JsonNode baseline = runs(run("a.Bench.op", "avgt", 100, null), run("a.Bench.other", "avgt", 100, null));
+        JsonNode results = runs(run("a.Bench.op", "avgt", 115, null), run("a.Bench.other", "avgt", 105, null));
+
+        //when
+        List<String> regressions = BenchmarkRegressionCheck.findRegressions(results, baseline, 10);
+
+        //then
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("a.Bench.op size=10: 100.000 -> 115.000"), regressions.get(0));
+    }
+
+    @Test
+    void lowerThroughputAndHigherAllocationShouldBeReported() throws Exception {
+        //given
+        JsonNode baseline = runs(run("a.Bench.op", "thrpt", 100, 64.0));
+        JsonNode results = runs(run("a.Bench.op", "thrpt", 80, 128.0));
+
+        //when
+        List<String> regressions = BenchmarkRegressionCheck.findRegressions(results, baseline, 10);
+
+        //then
+        assertEquals(2, regressions.size());
+        assertTrue(regressions.get(1).contains("allocation"));
+    }
+
+    @Test
+    void improvementsAndNewBenchmarksShouldPass() throws Exception {
+        //given
+        JsonNode baseline = runs(run("a.Bench.op", "avgt", 100, 64.0));
+        JsonNode results = runs(run("a.Bench.op", "avgt", 50, 32.0), run("a.Bench.added", "avgt", 1000, null));
+
+        //when + then
+        assertEquals(List.of(), BenchmarkRegressionCheck.findRegressions(results, baseline, 10));
+    }
+
+    private JsonNode runs(String... runs) throws Exception {
+        return objectMapper.readTree("[" + String.join(",", runs) + "]");
+    }
+
+    private static String run(String benchmark, String mode, double score, Double allocation) {
+        String secondary = allocation == null ? "{}"
+                : "{\"gc.alloc.rate.norm\":{\"score\":" + allocation + ",\"scoreUnit\":\"B/op\"}}";
+        return """
+                {"benchmark":"%s","mode":"%s","params":{"size":"10"},
+                 "primaryMetric":{"score":%s,"scoreUnit":"us/op"},"secondaryMetrics":%s}"""
+                .formatted(benchmark, mode, score, secondary);
+    }
+}
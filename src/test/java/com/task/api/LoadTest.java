@@ -0,0 +1,306 @@
+package com.task.api;
+
+import com.task.api.items.ItemService;
+import com.task.api.security.JwtService;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test: boots the application on an in-memory H2 database in MySQL mode, seeds
+ * {@code load.users} users with {@code load.items} items each, and drives a mix of register, login,
+ * create item and list items requests from {@code load.concurrency} clients over HTTP.
+ * <p>
+ * The clients run a closed loop: each sends its next request as soon as the previous one completed, so
+ * latencies are those seen at the offered concurrency, not at a fixed arrival rate. After {@code load.warmup}
+ * the latencies of {@code load.duration} are recorded per endpoint and printed with the throughput; the full
+ * percentile distributions are written to {@code target/load-test/*.hgrm}.
+ * </p>
+ * Arguments are {@code key=value} pairs. {@code load.*} keys configure the test, with {@code load.mix} giving
+ * the relative weights as {@code register:5,login:10,create:25,list:60}; all others are passed on to the
+ * application, e.g. {@code spring.profiles.active=reactive}.
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+
+    private final Map<String, String> settings;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final AtomicLong registrations = new AtomicLong();
+    private final List<User> users = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private String baseUrl;
+
+    private LoadTest(Map<String, String> settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings = new HashMap<>();
+        for (String arg : args) {
+            String setting = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = setting.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            settings.put(setting.substring(0, separator), setting.substring(separator + 1));
+        }
+        new LoadTest(settings).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        int userCount = intSetting("load.users", 100);
+        int itemsPerUser = intSetting("load.items", 100);
+        int concurrency = intSetting("load.concurrency", 32);
+        Duration warmup = durationSetting("load.warmup", Duration.ofSeconds(10));
+        Duration duration = durationSetting("load.duration", Duration.ofSeconds(30));
+        Map<Operation, Integer> mix = parseMix(settings.getOrDefault("load.mix", "register:5,login:10,create:25,list:60"));
+
+        try (ConfigurableApplicationContext context = BenchmarkContext.start(applicationProperties(itemsPerUser))) {
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            seed(context, userCount, itemsPerUser);
+            System.out.printf("Seeded %d users with %d items each; %d clients, mix %s%n",
+                    userCount, itemsPerUser, concurrency, mix);
+
+            drive(concurrency, warmup, mix);
+            Map<Operation, Result> results = drive(concurrency, duration, mix);
+            report(results, duration);
+        }
+    }
+
+    private Map<String, Object> applicationProperties(int itemsPerUser) {
+        String database = UUID.randomUUID().toString();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.r2dbc.url", "r2dbc:h2:mem:///" + database + "?options=MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.r2dbc.username", "sa");
+        properties.put("spring.r2dbc.password", "");
+        properties.put("items.batch.max-size", Math.max(itemsPerUser, 1));
+        settings.forEach((key, value) -> {
+            if (!key.startsWith("load.")) {
+                properties.put(key, value);
+            }
+        });
+        return properties;
+    }
+
+    private void seed(ConfigurableApplicationContext context, int userCount, int itemsPerUser) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemService itemService = context.getBean(ItemService.class);
+        JwtService jwtService = context.getBean(JwtService.class);
+        String encodedPassword = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<String> names = new ArrayList<>(itemsPerUser);
+        for (int i = 0; i < itemsPerUser; i++) {
+            names.add("item" + i);
+        }
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setLogin("load-user-" + i);
+            user.setPassword(encodedPassword);
+            user = userRepository.save(user);
+            if (!names.isEmpty()) {
+                itemService.createItems(names, user.getId());
+            }
+            users.add(user);
+            tokens.add(jwtService.generateToken(user.getId(), user.getLogin()));
+        }
+    }
+
+    private Map<Operation, Result> drive(int concurrency, Duration duration, Map<Operation, Integer> mix)
+            throws InterruptedException {
+        Operation[] schedule = mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Map<Operation, Result>> perClient = new ArrayList<>();
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Map<Operation, Result> results = new EnumMap<>(Operation.class);
+            perClient.add(results);
+            clients.add(Thread.ofPlatform().name("load-client-" + i).start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Operation operation = schedule[random.nextInt(schedule.length)];
+                    Result result = results.computeIfAbsent(operation, ignored -> new Result());
+                    long start = System.nanoTime();
+                    boolean ok = send(operation, random);
+                    result.record(System.nanoTime() - start, ok);
+                }
+            }));
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+
+        Map<Operation, Result> merged = new EnumMap<>(Operation.class);
+        perClient.forEach(results -> results.forEach((operation, result) ->
+                merged.computeIfAbsent(operation, ignored -> new Result()).add(result)));
+        return merged;
+    }
+
+    private boolean send(Operation operation, ThreadLocalRandom random) {
+        int userIndex = random.nextInt(users.size());
+        HttpRequest request = switch (operation) {
+            case REGISTER -> json("/register", credentials("load-new-" + registrations.incrementAndGet())).build();
+            case LOGIN -> json("/login", credentials(users.get(userIndex).getLogin())).build();
+            case CREATE_ITEM -> authorized(json("/items", "{\"name\":\"created\"}"), userIndex);
+            case LIST_ITEMS -> authorized(HttpRequest.newBuilder(URI.create(baseUrl + "/items"))
+                    .header("Accept", "application/json").GET(), userIndex);
+        };
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private HttpRequest.Builder json(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpRequest authorized(HttpRequest.Builder request, int userIndex) {
+        return request.header("Authorization", "Bearer " + tokens.get(userIndex)).build();
+    }
+
+    private static String credentials(String login) {
+        return "{\"login\":\"" + login + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    private void report(Map<Operation, Result> results, Duration duration) throws Exception {
+        Path directory = Path.of("target", "load-test");
+        Files.createDirectories(directory);
+        double seconds = duration.toNanos() / 1e9;
+
+        System.out.printf("%n%-16s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<Operation, Result> entry : results.entrySet()) {
+            Histogram histogram = entry.getValue().histogram;
+            total += histogram.getTotalCount();
+            System.out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey().endpoint,
+                    histogram.getTotalCount(), entry.getValue().errors, histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+            writeDistribution(histogram, directory.resolve(entry.getKey().name().toLowerCase() + ".hgrm"));
+        }
+        System.out.printf("%-16s %9d %7s %9.1f%n", "total", total, "", total / seconds);
+        System.out.println("Percentile distributions written to " + directory.toAbsolutePath());
+    }
+
+    private static void writeDistribution(Histogram histogram, Path file) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private int intSetting(String key, int defaultValue) {
+        return settings.containsKey(key) ? Integer.parseInt(settings.get(key)) : defaultValue;
+    }
+
+    private Duration durationSetting(String key, Duration defaultValue) {
+        String value = settings.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Duration.parse(value);
+        } catch (DateTimeParseException e) {
+            return Duration.parse("PT" + value.toUpperCase());
+        }
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split(":");
+            Operation operation = Operation.byName(weight[0]);
+            int value = Integer.parseInt(weight[1]);
+            if (value > 0) {
+                weights.put(operation, value);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    private enum Operation {
+        REGISTER("register", "POST /register"),
+        LOGIN("login", "POST /login"),
+        CREATE_ITEM("create", "POST /items"),
+        LIST_ITEMS("list", "GET /items");
+
+        private final String key;
+        private final String endpoint;
+
+        Operation(String key, String endpoint) {
+            this.key = key;
+            this.endpoint = endpoint;
+        }
+
+        static Operation byName(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown load.mix operation " + key);
+        }
+    }
+
+    /**
+     * Latencies in microseconds and the error count of one operation; only used by a single client thread
+     * until the results are merged.
+     */
+    private static final class Result {
+
+        private final Histogram histogram = new Histogram(3);
+        private long errors;
+
+        void record(long nanos, boolean ok) {
+            histogram.recordValue(Math.max(1, nanos / 1000));
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void add(Result other) {
+            histogram.add(other.histogram);
+            errors += other.errors;
+        }
+    }
+}
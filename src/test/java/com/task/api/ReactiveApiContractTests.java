@@ -0,0 +1,29 @@
+package com.task.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+@ActiveProfiles({"test", "reactive"})
+public class ReactiveApiContractTests extends ApiContractTests {
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Test
+    void reactiveRuntimeShouldRunOnNetty() {
+        //when + then
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+    }
+}
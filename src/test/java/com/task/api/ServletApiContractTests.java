@@ -0,0 +1,49 @@
+package com.task.api;
+
+import com.task.api.security.CustomUserDetailsService;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ServletApiContractTests extends ApiContractTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Test
+    void adminEndpointsShouldRequireStoredAdminRole() throws Exception {
+        //given
+        String token = registerAndLogin();
+        HttpResponse<String> beforeGrant = send(provision(token));
+        User user = userRepository.findByLogin(login).orElseThrow();
+        user.setAdmin(true);
+        userRepository.save(user);
+        userDetailsService.evict(login);
+
+        //when
+        HttpResponse<String> afterGrant = send(provision(token));
+
+        //then
+        assertEquals(403, beforeGrant.statusCode());
+        assertEquals(200, afterGrant.statusCode());
+    }
+
+    private HttpRequest.Builder provision(String token) {
+        return authorized("/admin/users", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("[]"));
+    }
+}
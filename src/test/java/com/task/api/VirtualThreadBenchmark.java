@@ -0,0 +1,177 @@
+package com.task.api;
+
+import com.task.api.items.ItemService;
+import com.task.api.security.JwtService;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of {@code GET /items} with {@code concurrency} simultaneous requests whose queries each take
+ * {@code queryLatencyMillis} longer, comparing Tomcat's platform thread pool ({@code server.tomcat.threads.max},
+ * 200 by default) against {@code spring.threads.virtual.enabled}.
+ * <p>
+ * The latency is added in front of every JDBC statement with a sleep, which blocks like a MySQL round trip:
+ * a platform thread waits, a virtual thread unmounts from its carrier. The connection pool is sized above the
+ * platform thread pool, so the comparison shows the limit imposed by the threads rather than by the pool.
+ * One operation is a burst of {@code concurrency} requests; requests per second are {@code concurrency / time}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Djdk.tracePinnedThreads=short")
+public class VirtualThreadBenchmark {
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"1000"})
+    private int concurrency;
+
+    @Param({"50"})
+    private int queryLatencyMillis;
+
+    @Param({"500"})
+    private int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        ApplicationContextInitializer<ConfigurableApplicationContext> latency = applicationContext ->
+                applicationContext.getBeanFactory().addBeanPostProcessor(new LatencyInjector(queryLatencyMillis));
+        context = BenchmarkContext.start(Map.of(
+                "spring.threads.virtual.enabled", virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size", poolSize,
+                "spring.datasource.hikari.connection-timeout", 60000,
+                "server.tomcat.accept-count", concurrency,
+                "items.stats.cache-ttl", "1h"), List.of(latency));
+
+        User owner = new User();
+        owner.setLogin("benchmark");
+        owner.setPassword("encoded");
+        owner = context.getBean(UserRepository.class).save(owner);
+        context.getBean(ItemService.class).createItems(List.of("item1", "item2", "item3"), owner.getId());
+        String token = context.getBean(JwtService.class).generateToken(owner.getId(), owner.getLogin());
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int burst() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != concurrency) {
+            throw new IllegalStateException((concurrency - ok) + " requests failed");
+        }
+        return ok;
+    }
+
+    /**
+     * Wraps the data source so that every executed statement first sleeps for the configured latency.
+     */
+    private record LatencyInjector(int latencyMillis) implements BeanPostProcessor {
+
+        private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+                "executeBatch", "executeLargeUpdate", "executeLargeBatch");
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            return bean instanceof DataSource dataSource ? new SlowDataSource(dataSource) : bean;
+        }
+
+        private final class SlowDataSource extends DelegatingDataSource implements AutoCloseable {
+
+            SlowDataSource(DataSource target) {
+                super(target);
+            }
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return proxy(Connection.class, connection, (method, result) ->
+                        result instanceof Statement statement ? slowStatement(statement) : result);
+            }
+
+            @Override
+            public void close() throws Exception {
+                if (getTargetDataSource() instanceof AutoCloseable closeable) {
+                    closeable.close();
+                }
+            }
+
+            private Statement slowStatement(Statement statement) {
+                Class<? extends Statement> type = statement instanceof PreparedStatement
+                        ? PreparedStatement.class : Statement.class;
+                return proxy(type, statement, (method, result) -> result);
+            }
+
+            @SuppressWarnings("unchecked")
+            private <T> T proxy(Class<? extends T> type, T target, ResultMapper mapper) {
+                return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                        (proxy, method, args) -> {
+                            if (target instanceof Statement && EXECUTE_METHODS.contains(method.getName())) {
+                                Thread.sleep(latencyMillis);
+                            }
+                            try {
+                                return mapper.map(method.getName(), method.invoke(target, args));
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        }
+
+        private interface ResultMapper {
+            Object map(String method, Object result);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.task.api;
+
+import com.task.api.items.ItemService;
+import com.task.api.security.JwtService;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of {@code GET /items} with {@code concurrency} simultaneous connections, comparing the servlet
+ * runtime (Tomcat and JDBC) with the {@code reactive} profile (Netty and R2DBC).
+ * <p>
+ * One operation is a burst of {@code concurrency} requests; requests per second are {@code concurrency / time}.
+ * The latency of every request is recorded as well, and its 50th and 99th percentiles are printed after
+ * each iteration. Tomcat's connection limit and accept queue are raised to the concurrency, so the servlet
+ * runtime is limited by its thread pool rather than by refused connections. The setup fails if a stack
+ * does not run on its expected server.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WebStackBenchmark {
+
+    @Param({"servlet", "reactive"})
+    private String stack;
+
+    @Param({"10000"})
+    private int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+    private final List<long[]> latencies = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        String database = UUID.randomUUID().toString();
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        overrides.put("server.tomcat.max-connections", concurrency);
+        overrides.put("server.tomcat.accept-count", concurrency);
+        overrides.put("items.stats.cache-ttl", "1h");
+        if (stack.equals("reactive")) {
+            overrides.put("spring.profiles.active", "reactive");
+            overrides.put("spring.r2dbc.url", "r2dbc:h2:mem:///" + database + "?options=MODE=MySQL;DB_CLOSE_DELAY=-1");
+            overrides.put("spring.r2dbc.username", "sa");
+            overrides.put("spring.r2dbc.password", "");
+        }
+        context = BenchmarkContext.start(overrides);
+
+        User owner = new User();
+        owner.setLogin("benchmark");
+        owner.setPassword("encoded");
+        owner = context.getBean(UserRepository.class).save(owner);
+        context.getBean(ItemService.class).createItems(List.of("item1", "item2", "item3"), owner.getId());
+        String token = context.getBean(JwtService.class).generateToken(owner.getId(), owner.getLogin());
+
+        WebServer webServer = ((WebServerApplicationContext) context).getWebServer();
+        Class<? extends WebServer> expected = stack.equals("reactive") ? NettyWebServer.class : TomcatWebServer.class;
+        if (!expected.isInstance(webServer)) {
+            throw new IllegalStateException(stack + " stack runs on " + webServer.getClass().getSimpleName());
+        }
+        int port = webServer.getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLatency() {
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        latencies.clear();
+        if (all.length > 0) {
+            System.out.printf("%n%s: %d requests, p50 %.1f ms, p99 %.1f ms%n", stack, all.length,
+                    percentileMillis(all, 0.50), percentileMillis(all, 0.99));
+        }
+    }
+
+    @Benchmark
+    public int burst() {
+        long[] burstLatencies = new long[concurrency];
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int index = i;
+            long start = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        burstLatencies[index] = System.nanoTime() - start;
+                        return response.statusCode();
+                    }));
+        }
+        int ok = 0;
+        for (CompletableFuture<Integer> response : responses) {
+            if (response.join() == 200) {
+                ok++;
+            }
+        }
+        if (ok != concurrency) {
+            throw new IllegalStateException((concurrency - ok) + " requests failed");
+        }
+        latencies.add(burstLatencies);
+        return ok;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
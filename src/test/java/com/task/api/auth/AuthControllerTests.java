@@ -54,4 +54,14 @@ public class AuthControllerTests {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(loginResponse, response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCallLogoutWithBearerTokenAndReturnNoContent() {
+        //when
+        ResponseEntity<Void> response = authController.logout("Bearer mock-jwt-token");
+
+        //then
+        verify(authService).logout("mock-jwt-token");
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    }
+}
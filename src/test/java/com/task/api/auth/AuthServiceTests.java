@@ -4,7 +4,14 @@ package com.task.api.auth;
 import com.task.api.auth.dto.LoginRequest;
 import com.task.api.auth.dto.LoginResponse;
 import com.task.api.auth.dto.RegisterRequest;
+import com.task.api.common.ConflictException;
+import com.task.api.metrics.RequestMetrics;
+import com.task.api.security.CustomUserDetailsService;
 import com.task.api.security.JwtService;
+import com.task.api.security.PasswordHasher;
+import com.task.api.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import com.task.api.user.User;
 import com.task.api.user.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -14,9 +21,11 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.util.Date;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -29,11 +38,20 @@ public class AuthServiceTests {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RequestMetrics requestMetrics;
+
     @InjectMocks
     private AuthService authService;
 
@@ -46,31 +64,46 @@ public class AuthServiceTests {
         //given
         RegisterRequest registerRequest = new RegisterRequest("newUser", "123");
 
-        when(userRepository.findByLogin("newUser")).thenReturn(Optional.empty());
-        when(passwordEncoder.encode("123")).thenReturn("encodedPassword");
+        when(passwordHasher.encode("123")).thenReturn("encodedPassword");
 
         //when
         authService.register(registerRequest);
 
         //then
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository, never()).findByLogin(any());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         User savedUser = userCaptor.getValue();
 
         assertEquals("newUser", savedUser.getLogin());
         assertEquals("encodedPassword", savedUser.getPassword());
+        verify(userDetailsService).evict("newUser");
     }
 
     @Test
     void registerShouldThrowExceptionWhenLoginExists() {
         //given
         RegisterRequest registerRequest = new RegisterRequest("existingUser", "123");
-        when(userRepository.findByLogin("existingUser")).thenReturn(Optional.of(new User()));
+        when(passwordHasher.encode("123")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(userRepository.existsByLogin("existingUser")).thenReturn(true);
 
         //when + then
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.register(registerRequest));
+        ConflictException exception = assertThrows(ConflictException.class, () -> authService.register(registerRequest));
         assertEquals("User already exists.", exception.getMessage());
 
-        verify(userRepository, never()).save(any());
+        verify(userDetailsService, never()).evict(any());
+    }
+
+    @Test
+    void registerShouldNotReportOtherConstraintViolationsAsConflict() {
+        //given
+        RegisterRequest registerRequest = new RegisterRequest("newUser", "123");
+        when(passwordHasher.encode("123")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("Value too long"));
+        when(userRepository.existsByLogin("newUser")).thenReturn(false);
+
+        //when + then
+        assertThrows(DataIntegrityViolationException.class, () -> authService.register(registerRequest));
     }
 
     @Test
@@ -78,18 +111,40 @@ public class AuthServiceTests {
         //given
         LoginRequest loginRequest = new LoginRequest("bob", "123");
         User user = new User();
+        user.setId(UUID.randomUUID());
         user.setLogin("bob");
         user.setPassword("encodedPassword");
 
         when(userRepository.findByLogin("bob")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("123", "encodedPassword")).thenReturn(true);
-        when(jwtService.generateToken("bob")).thenReturn("mock-jwt-token");
+        when(passwordHasher.matches("123", "encodedPassword")).thenReturn(true);
+        when(jwtService.generateToken(user.getId(), "bob")).thenReturn("mock-jwt-token");
+
+        //when
+        LoginResponse loginResponse = authService.login(loginRequest);
+
+        //then
+        assertEquals("mock-jwt-token", loginResponse.getToken());
+    }
+
+    @Test
+    void loginShouldLookUpLoginAgainWhenReplicaDoesNotHaveItYet() {
+        //given
+        LoginRequest loginRequest = new LoginRequest("bob", "123");
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setLogin("bob");
+        user.setPassword("encodedPassword");
+
+        when(userRepository.findByLogin("bob")).thenReturn(Optional.empty()).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("123", "encodedPassword")).thenReturn(true);
+        when(jwtService.generateToken(user.getId(), "bob")).thenReturn("mock-jwt-token");
 
         //when
         LoginResponse loginResponse = authService.login(loginRequest);
 
         //then
         assertEquals("mock-jwt-token", loginResponse.getToken());
+        verify(userRepository, times(2)).findByLogin("bob");
     }
 
     @Test
@@ -112,10 +167,25 @@ public class AuthServiceTests {
         user.setPassword("encodedPassword");
 
         when(userRepository.findByLogin("bob")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("wrongPassword", "encodedPassword")).thenReturn(false);
+        when(passwordHasher.matches("wrongPassword", "encodedPassword")).thenReturn(false);
 
         //when + then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.login(loginRequest));
         assertEquals("Invalid username or password.", exception.getMessage());
     }
+
+    @Test
+    void logoutShouldRevokeTokenUntilItExpires() {
+        //given
+        Claims claims = Jwts.claims();
+        claims.setId("token-id");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60000));
+        when(jwtService.extractClaims("mock-jwt-token")).thenReturn(claims);
+
+        //when
+        authService.logout("mock-jwt-token");
+
+        //then
+        verify(tokenRevocationService).revoke("token-id", claims.getExpiration().toInstant());
+    }
 }
@@ -0,0 +1,41 @@
+package com.task.api.auth;
+
+import com.task.api.auth.dto.ProvisioningResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserProvisioningControllerTests {
+
+    @Mock
+    private UserProvisioningService userProvisioningService;
+
+    @InjectMocks
+    private UserProvisioningController userProvisioningController;
+
+    @Test
+    void provisionShouldStreamRequestBodyToService() throws IOException {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("[]".getBytes());
+        ProvisioningResponse expected = new ProvisioningResponse(0, List.of());
+        when(userProvisioningService.provision(any())).thenReturn(expected);
+
+        //when
+        ProvisioningResponse response = userProvisioningController.provision(request);
+
+        //then
+        assertEquals(expected, response);
+    }
+}
@@ -0,0 +1,188 @@
+package com.task.api.auth;
+
+import com.task.api.auth.dto.ProvisioningResponse;
+import com.task.api.auth.dto.SkippedUser;
+import com.task.api.common.BadRequestException;
+import com.task.api.common.ConflictException;
+import com.task.api.security.PasswordHasher;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserProvisioningServiceTests {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Captor
+    private ArgumentCaptor<List<User>> usersCaptor;
+
+    private PasswordHasher passwordHasher;
+    private UserProvisioningService userProvisioningService;
+
+    @BeforeEach
+    void setUp() {
+        // one hashing thread and two queue slots, so more than two hashes waiting would be rejected
+        passwordHasher = new PasswordHasher(passwordEncoder, 1, 2, Duration.ofSeconds(1));
+        userProvisioningService = new UserProvisioningService(userRepository, passwordHasher,
+                new TransactionTemplate(transactionManager), entityManager, Jackson2ObjectMapperBuilder.json().build(),
+                2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    @Test
+    void provisionShouldInsertUsersInChunksAndSkipExistingLogins() throws Exception {
+        //given
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "encoded-" + invocation.getArgument(0));
+        when(userRepository.findExistingLogins(any())).thenReturn(List.of()).thenReturn(List.of("carol"));
+
+        //when
+        ProvisioningResponse response = userProvisioningService.provision(json("""
+                [{"login": "alice", "password": "1"},
+                 {"login": "bob", "password": "2"},
+                 {"login": "alice", "password": "3"},
+                 {"login": "carol", "password": "4"}]
+                """));
+
+        //then
+        assertEquals(2, response.getCreated());
+        assertEquals(List.of(new SkippedUser(2, "alice", "repeated in request"),
+                new SkippedUser(3, "carol", "already exists")), response.getSkipped());
+        verify(userRepository, times(1)).saveAll(usersCaptor.capture());
+        List<User> saved = usersCaptor.getValue();
+        assertEquals("alice", saved.get(0).getLogin());
+        assertEquals("encoded-1", saved.get(0).getPassword());
+        assertEquals("bob", saved.get(1).getLogin());
+        assertEquals("encoded-2", saved.get(1).getPassword());
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void provisionShouldReportConflictOfConcurrentRegistration() {
+        //given
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
+        when(userRepository.findExistingLogins(any())).thenReturn(List.of()).thenReturn(List.of("alice"));
+        doThrow(new DataIntegrityViolationException("Duplicate entry")).when(userRepository).flush();
+
+        //when + then
+        assertThrows(ConflictException.class,
+                () -> userProvisioningService.provision(json("[{\"login\": \"alice\", \"password\": \"1\"}]")));
+    }
+
+    @Test
+    void provisionShouldNotReportOtherConstraintViolationsAsConflict() {
+        //given
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
+        when(userRepository.findExistingLogins(any())).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("Value too long")).when(userRepository).flush();
+
+        //when + then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> userProvisioningService.provision(json("[{\"login\": \"alice\", \"password\": \"1\"}]")));
+    }
+
+    @Test
+    void provisionShouldKeepHashesInFlightWithinParallelism() throws Exception {
+        //given
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "encoded-" + invocation.getArgument(0));
+        when(userRepository.findExistingLogins(any())).thenReturn(List.of());
+
+        //when
+        ProvisioningResponse response = userProvisioningService.provision(json("""
+                [{"login": "a", "password": "1"}, {"login": "b", "password": "2"},
+                 {"login": "c", "password": "3"}, {"login": "d", "password": "4"}]
+                """));
+
+        //then
+        assertEquals(4, response.getCreated());
+        assertEquals(0, passwordHasher.getRejectedCount());
+    }
+
+    @Test
+    void provisionShouldRejectBodyThatIsNotAnArray() {
+        //when + then
+        assertThrows(BadRequestException.class,
+                () -> userProvisioningService.provision(json("{\"login\": \"alice\"}")));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void provisionShouldReportElementsWithoutLoginOrPasswordByIndex() throws Exception {
+        //when
+        ProvisioningResponse response = userProvisioningService.provision(json("""
+                [{"password": "1"}, {"login": " ", "password": "2"}, {"login": "alice"}]
+                """));
+
+        //then
+        assertEquals(0, response.getCreated());
+        assertEquals(List.of(new SkippedUser(0, null, "missing login or password"),
+                new SkippedUser(1, " ", "missing login or password"),
+                new SkippedUser(2, "alice", "missing login or password")), response.getSkipped());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void provisionShouldRejectElementThatIsNotAnObject() {
+        //when
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> userProvisioningService.provision(json("""
+                        [{"login": "alice", "password": "1"}, "bob", {"login": "carol", "password": "3"}]
+                        """)));
+
+        //then
+        assertTrue(exception.getMessage().contains("index 1"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void provisionShouldRejectTruncatedBody() {
+        //when + then
+        assertThrows(BadRequestException.class,
+                () -> userProvisioningService.provision(json("[{\"login\": \"alice\", \"password\": \"1\"}")));
+        assertThrows(BadRequestException.class,
+                () -> userProvisioningService.provision(json("[{\"login\": \"alice\", \"pass")));
+        verifyNoInteractions(userRepository);
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
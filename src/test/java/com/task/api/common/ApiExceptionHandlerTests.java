@@ -0,0 +1,69 @@
+package com.task.api.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ApiExceptionHandlerTests {
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    void serviceBusyShouldReturnServiceUnavailableWithRetryAfter() {
+        //given
+        ServiceBusyException exception = new ServiceBusyException("busy", Duration.ofMillis(1500));
+
+        //when
+        ResponseEntity<String> response = handler.handleServiceBusy(exception);
+
+        //then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("busy", response.getBody());
+    }
+
+    @Test
+    void badRequestShouldReturnBadRequestWithMessage() {
+        //when
+        ResponseEntity<String> response = handler.handleBadRequest(new BadRequestException("Invalid cursor."));
+
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid cursor.", response.getBody());
+    }
+
+    @Test
+    void conflictShouldReturnConflictWithMessage() {
+        //when
+        ResponseEntity<String> response = handler.handleConflict(new ConflictException("User already exists."));
+
+        //then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("User already exists.", response.getBody());
+    }
+
+    @Test
+    void notFoundShouldReturnNotFoundWithMessage() {
+        //when
+        ResponseEntity<String> response = handler.handleNotFound(new NotFoundException("Item not found."));
+
+        //then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Item not found.", response.getBody());
+    }
+
+    @Test
+    void goneShouldReturnGoneWithMessage() {
+        //when
+        ResponseEntity<String> response = handler.handleGone(new GoneException("Sync token expired."));
+
+        //then
+        assertEquals(HttpStatus.GONE, response.getStatusCode());
+        assertEquals("Sync token expired.", response.getBody());
+    }
+}
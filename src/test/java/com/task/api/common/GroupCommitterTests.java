@@ -0,0 +1,137 @@
+package com.task.api.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupCommitterTests {
+
+    private final List<List<String>> written = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private GroupCommitter<String> committer;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (committer != null) {
+            committer.close();
+        }
+    }
+
+    @Test
+    void submitShouldReturnAfterItsEntryWasWritten() {
+        //given
+        committer = committer(10, Duration.ofMillis(1), 10, written::add);
+
+        //when
+        committer.submit("a");
+
+        //then
+        assertEquals(List.of(List.of("a")), written);
+        assertEquals(1, committer.getGroupCount());
+        assertEquals(1, committer.getEntryCount());
+    }
+
+    @Test
+    void concurrentEntriesShouldBeWrittenInGroupsOfMaxSize() throws Exception {
+        //given
+        committer = committer(3, Duration.ofSeconds(5), 10, written::add);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String entry = "e" + i;
+            futures.add(executor.submit(() -> committer.submit(entry)));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        //then
+        assertEquals(2, written.size());
+        assertTrue(written.stream().allMatch(group -> group.size() == 3));
+        assertEquals(3, committer.getLastGroupSize());
+    }
+
+    @Test
+    void failedGroupShouldBeRetriedEntryByEntry() throws Exception {
+        //given
+        committer = committer(2, Duration.ofSeconds(5), 10, group -> {
+            if (group.contains("bad")) {
+                throw new IllegalStateException("constraint violation");
+            }
+            written.add(group);
+        });
+
+        //when
+        Future<?> good = executor.submit(() -> committer.submit("good"));
+        Future<?> bad = executor.submit(() -> committer.submit("bad"));
+
+        //then
+        good.get(5, TimeUnit.SECONDS);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals(List.of(List.of("good")), written);
+    }
+
+    @Test
+    void submitShouldBeRejectedWhenQueueIsFull() throws Exception {
+        //given
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        committer = committer(1, Duration.ZERO, 1, group -> {
+            writing.countDown();
+            await(release);
+        });
+        executor.submit(() -> committer.submit("in flight"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> committer.submit("queued"));
+        while (committer.getQueueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        //when + then
+        assertThrows(ServiceBusyException.class, () -> committer.submit("rejected"));
+        assertEquals(1, committer.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    void closeShouldRejectNewEntries() {
+        //given
+        committer = committer(10, Duration.ofMillis(1), 10, written::add);
+
+        //when
+        committer.close();
+
+        //then
+        assertThrows(ServiceBusyException.class, () -> committer.submit("late"));
+    }
+
+    private static GroupCommitter<String> committer(int maxGroupSize, Duration linger, int queueCapacity,
+                                                    Consumer<List<String>> writer) {
+        return new GroupCommitter<>("test-group-commit", maxGroupSize, linger, queueCapacity,
+                Duration.ofSeconds(1), writer);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.task.api.common;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares inserting {@code rows} rows keyed by random UUIDs against {@link UuidV7} keys into a
+ * {@code BINARY(16)} primary key, with batched JDBC inserts into an embedded H2 database.
+ * <p>
+ * Every iteration starts from an empty table. H2 keeps the whole B-tree in memory, so this shows
+ * page split and cache locality costs only; on InnoDB random keys additionally evict buffer pool pages
+ * once the index outgrows it, so run against MySQL to see the full gap at several million rows, e.g.
+ * {@code -p rows=5000000 -p url=jdbc:mysql://localhost:3306/taskdb?rewriteBatchedStatements=true -p user=root -p password=...}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"random", "v7"})
+    private String ids;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"jdbc:h2:mem:uuid_insert;DB_CLOSE_DELAY=-1"})
+    private String url;
+
+    @Param({"sa"})
+    private String user;
+
+    @Param({""})
+    private String password;
+
+    private Connection connection;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists uuid_insert_benchmark");
+            statement.execute("create table uuid_insert_benchmark (id binary(16) primary key, name varchar(255))");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table uuid_insert_benchmark");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    public void insert() throws SQLException {
+        boolean ordered = "v7".equals(ids);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into uuid_insert_benchmark (id, name) values (?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setBytes(1, toBytes(ordered ? UuidV7.generate() : UUID.randomUUID()));
+                insert.setString(2, "item" + i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,56 @@
+package com.task.api.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidV7Tests {
+
+    @Test
+    void generateShouldSetVersionVariantAndTimestamp() {
+        //given
+        long now = 1_735_689_600_000L;
+
+        //when
+        UUID id = UuidV7.generate(now);
+
+        //then
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue((id.getMostSignificantBits() >>> 16) >= now);
+    }
+
+    @Test
+    void generateShouldBeStrictlyIncreasingWithinOneMillisecond() {
+        //given
+        long now = System.currentTimeMillis() + 60_000;
+        List<UUID> ids = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7.generate(now));
+        }
+
+        //then
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        }
+    }
+
+    @Test
+    void generateShouldStayIncreasingWhenClockStepsBack() {
+        //given
+        long now = System.currentTimeMillis() + 120_000;
+        UUID before = UuidV7.generate(now);
+
+        //when
+        UUID after = UuidV7.generate(now - 1_000);
+
+        //then
+        assertTrue(before.compareTo(after) < 0);
+    }
+}
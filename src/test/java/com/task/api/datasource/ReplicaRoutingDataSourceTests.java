@@ -0,0 +1,124 @@
+package com.task.api.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTests {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private DataSource firstHealthCheck;
+
+    @Mock
+    private DataSource secondHealthCheck;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstConnection;
+
+    @Mock
+    private Connection secondConnection;
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(5), 10, Clock.systemUTC());
+        routing = new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica),
+                List.of(firstHealthCheck, secondHealthCheck), readYourWrites, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyConnectionsShouldRotateOverReplicas() throws Exception {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(firstReplica.getConnection()).thenReturn(firstConnection);
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+
+        //when + then
+        assertSame(firstConnection, routing.getConnection());
+        assertSame(secondConnection, routing.getConnection());
+        assertSame(firstConnection, routing.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void readWriteConnectionsShouldUsePrimary() throws Exception {
+        //given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        //when + then
+        assertSame(primaryConnection, routing.getConnection());
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void failingReplicaShouldBeSkippedUntilItPassesHealthCheck() throws Exception {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstHealthCheck.getConnection()).thenReturn(firstConnection);
+        when(secondHealthCheck.getConnection()).thenReturn(secondConnection);
+        when(firstConnection.isValid(1)).thenReturn(true);
+        when(secondConnection.isValid(1)).thenReturn(true);
+
+        //when + then
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(1, routing.getHealthyReplicaCount());
+        assertSame(secondConnection, routing.getConnection());
+        assertSame(secondConnection, routing.getConnection());
+
+        routing.checkReplicas();
+        assertEquals(2, routing.getHealthyReplicaCount());
+    }
+
+    @Test
+    void readsShouldFallBackToPrimaryWithoutHealthyReplicas() throws Exception {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(firstHealthCheck.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(secondHealthCheck.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        //when
+        routing.checkReplicas();
+
+        //then
+        assertEquals(0, routing.getHealthyReplicaCount());
+        assertSame(primaryConnection, routing.getConnection());
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+}
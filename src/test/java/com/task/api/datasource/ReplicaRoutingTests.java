@@ -0,0 +1,101 @@
+package com.task.api.datasource;
+
+import com.task.api.security.RevokedToken;
+import com.task.api.security.RevokedTokenRepository;
+import com.task.api.security.TokenRevocationService;
+import com.task.api.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "datasource.replicas.urls=jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+public class ReplicaRoutingTests {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsShouldUseReplicaAndOthersPrimary() {
+        //when + then
+        assertEquals("REPLICA", readOnly.execute(status -> currentDatabase()));
+        assertEquals("API", readWrite.execute(status -> currentDatabase()));
+        assertEquals("API", currentDatabase());
+    }
+
+    @Test
+    void readsShouldStayOnPrimaryWithinReadYourWritesWindowOrWhenForced() {
+        //given
+        UUID userId = UUID.randomUUID();
+        UserPrincipal principal = new UserPrincipal(userId, "bob", "encoded", false);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+
+        //when + then
+        assertEquals("REPLICA", readOnly.execute(status -> currentDatabase()));
+        assertEquals("API", ReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> currentDatabase())));
+        readYourWrites.recordWrite(userId);
+        assertEquals("API", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void revocationChecksShouldReadPrimary() {
+        //given
+        String tokenId = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+
+        //when
+        tokenRevocationService.refresh();
+
+        //then
+        assertTrue(tokenRevocationService.mightBeRevoked(tokenId, expiresAt));
+        assertTrue(tokenRevocationService.isRevoked(tokenId, expiresAt));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+}
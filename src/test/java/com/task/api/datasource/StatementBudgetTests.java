@@ -0,0 +1,78 @@
+package com.task.api.datasource;
+
+import com.task.api.security.JwtService;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.task.api.datasource.StatementCountAssertions.assertStatementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Locks in the number of statements of the hot paths; a failure lists the statements that were executed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StatementBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setLogin("statements-" + System.nanoTime());
+        user.setPassword("encoded");
+        user = userRepository.save(user);
+        authorization = "Bearer " + jwtService.generateToken(user.getId(), user.getLogin());
+    }
+
+    @Test
+    void getItemsShouldExecuteTwoStatements() throws Throwable {
+        //given
+        createItem("item1");
+        createItem("item2");
+
+        //when + then: the owner's items version for the ETag, then the items
+        assertStatementCount(2, () -> mockMvc.perform(get("/items")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void postItemShouldExecuteFourStatements() throws Throwable {
+        //given
+        createItem("item1");
+
+        //when + then: the owner's stats, the reservation of the item count, the new items version and the insert
+        assertStatementCount(4, () -> createItem("item2"));
+    }
+
+    private Object createItem(String name) throws Exception {
+        return mockMvc.perform(post("/items")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\"}"))
+                .andExpect(status().isNoContent());
+    }
+}
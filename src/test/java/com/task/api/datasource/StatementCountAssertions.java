@@ -0,0 +1,33 @@
+package com.task.api.datasource;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Asserts the number of JDBC statements an action executes on the calling thread, e.g. a request performed
+ * with {@code MockMvc}. Requires the {@link StatementCountingDataSource}, which is on unless
+ * {@code datasource.statements.counting} is false.
+ */
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    /**
+     * @param expected exact number of statements
+     * @param action action to count the statements of
+     * @return result of the action
+     */
+    public static <T> T assertStatementCount(int expected, ThrowingSupplier<T> action) throws Throwable {
+        StatementCounter.Counts counts = StatementCounter.start();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            StatementCounter.stop(counts);
+        }
+        assertEquals(expected, counts.getTotal(), () -> "Unexpected statements, executed " + counts);
+        return result;
+    }
+}
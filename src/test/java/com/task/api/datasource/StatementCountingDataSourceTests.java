@@ -0,0 +1,92 @@
+package com.task.api.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementCountingDataSourceTests {
+
+    private StatementCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1");
+        dataSource = new StatementCountingDataSource(h2);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists t (id int)");
+        }
+    }
+
+    @Test
+    void executedStatementsShouldBeCountedPerSqlWithBatchAsOneStatement() throws Exception {
+        //given
+        StatementCounter.Counts counts = StatementCounter.start();
+
+        //when
+        try (Connection connection = dataSource.getConnection()) {
+            for (int i = 0; i < 3; i++) {
+                try (PreparedStatement select = connection.prepareStatement("select id from t where id = ?")) {
+                    select.setInt(1, i);
+                    select.executeQuery().close();
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement("insert into t (id) values (?)")) {
+                insert.setInt(1, 1);
+                insert.addBatch();
+                insert.setInt(1, 2);
+                insert.addBatch();
+                insert.executeBatch();
+            }
+        } finally {
+            StatementCounter.stop(counts);
+        }
+
+        //then
+        assertEquals(4, counts.getTotal());
+        assertEquals(Map.of("select id from t where id = ?", 3), counts.getRepeated(3));
+        assertEquals(1, counts.getBySql().get("insert into t (id) values (?)"));
+    }
+
+    @Test
+    void nestedScopesShouldAlsoCountTowardsTheirParent() throws Exception {
+        //given
+        StatementCounter.Counts outer = StatementCounter.start();
+        StatementCounter.Counts inner = StatementCounter.start();
+
+        //when
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("select count(*) from t").close();
+            StatementCounter.stop(inner);
+            statement.executeQuery("select count(*) from t").close();
+        } finally {
+            StatementCounter.stop(outer);
+        }
+
+        //then
+        assertEquals(1, inner.getTotal());
+        assertEquals(2, outer.getTotal());
+    }
+
+    @Test
+    void statementsOutsideOfScopeShouldNotBeCounted() throws Exception {
+        //given
+        StatementCounter.Counts counts = StatementCounter.start();
+        StatementCounter.stop(counts);
+
+        //when
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("select count(*) from t").close();
+        }
+
+        //then
+        assertEquals(0, counts.getTotal());
+    }
+}
@@ -0,0 +1,70 @@
+package com.task.api.items;
+
+import com.task.api.BenchmarkContext;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating {@code items} items one request at a time with {@link ItemService#createItem}
+ * against a single {@link ItemService#createItems} batch, on an embedded H2 database.
+ * <p>
+ * H2 runs in-process, so this measures per-statement and per-transaction overhead only;
+ * against MySQL every single create additionally pays a network round trip and a commit fsync.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemBatchInsertBenchmark {
+
+    @Param({"1000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private UUID ownerId;
+    private List<String> names;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        itemService = context.getBean(ItemService.class);
+
+        User owner = new User();
+        owner.setLogin("benchmark");
+        owner.setPassword("encoded");
+        ownerId = context.getBean(UserRepository.class).save(owner).getId();
+
+        names = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            names.add("item" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void singleCreates() {
+        for (String name : names) {
+            itemService.createItem(name, ownerId);
+        }
+    }
+
+    @Benchmark
+    public List<UUID> oneBatch() {
+        return itemService.createItems(names, ownerId);
+    }
+}
@@ -1,21 +1,49 @@
 package com.task.api.items;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.task.api.items.dto.CreateItemRequest;
+import com.task.api.items.dto.ItemChanges;
+import com.task.api.items.dto.ItemCountResponse;
+import com.task.api.items.dto.ItemPage;
 import com.task.api.items.dto.ItemResponse;
+import com.task.api.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 public class ItemControllerTests {
@@ -24,7 +52,16 @@ public class ItemControllerTests {
     private ItemService itemService;
 
     @Mock
-    private Authentication authentication;
+    private ItemStatsService itemStatsService;
+
+    @Mock
+    private ItemSearchService itemSearchService;
+
+    @Mock
+    private ItemEventBroadcaster itemEventBroadcaster;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     @InjectMocks
     private ItemController itemController;
@@ -33,41 +70,225 @@ public class ItemControllerTests {
     private ArgumentCaptor<String> nameCaptor;
 
     @Captor
-    private ArgumentCaptor<String> loginCaptor;
+    private ArgumentCaptor<UUID> ownerIdCaptor;
+
+    private final UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), "bob", null, false);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
 
     @Test
     void createItemShouldDelegateToServiceWithCorrectArguments() {
         //given
         CreateItemRequest request = new CreateItemRequest("newItem1");
 
-        when(authentication.getName()).thenReturn("bob");
-
         //when
-        itemController.createItem(request, authentication);
+        itemController.createItem(request, principal);
 
         //then
-        verify(itemService).createItem(nameCaptor.capture(), loginCaptor.capture());
+        verify(itemService).createItem(nameCaptor.capture(), ownerIdCaptor.capture());
         assertEquals("newItem1", nameCaptor.getValue());
-        assertEquals("bob", loginCaptor.getValue());
+        assertEquals(principal.getId(), ownerIdCaptor.getValue());
     }
 
     @Test
-    void getItemShouldReturnListFromService() {
+    void createItemsShouldDelegateNamesToServiceAndReturnIds() {
         //given
-        when(authentication.getName()).thenReturn("bob");
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(itemService.createItems(List.of("newItem1", "newItem2"), principal.getId())).thenReturn(ids);
 
+        //when
+        List<UUID> result = itemController.createItems(
+                List.of(new CreateItemRequest("newItem1"), new CreateItemRequest("newItem2")), principal);
+
+        //then
+        assertEquals(ids, result);
+    }
+
+    @Test
+    void getItemShouldReturnListFromService() {
+        //given
         List<ItemResponse> expectedItems = List.of(
                 new ItemResponse(UUID.randomUUID(), "newItem1"),
                 new ItemResponse(UUID.randomUUID(), "newItem2")
         );
 
-        when(itemService.getItemsForUser("bob")).thenReturn(expectedItems);
+        when(itemStatsService.getETag(principal.getId())).thenReturn("\"v1\"");
+        when(itemService.getItemsForUser(principal.getId())).thenReturn(expectedItems);
+
+        //when
+        List<ItemResponse> result = itemController.getItems(principal,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse()));
+
+        //then
+        assertEquals(expectedItems, result);
+        verify(itemService).getItemsForUser(principal.getId());
+    }
+
+    @Test
+    void getItemsShouldSendETag() throws Exception {
+        //given
+        when(itemStatsService.getETag(principal.getId())).thenReturn("\"v1\"");
+        when(itemService.getItemsForUser(principal.getId())).thenReturn(List.of());
+
+        //when + then
+        mockMvc().perform(get("/items"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+    }
+
+    @Test
+    void getItemsShouldAnswerNotModifiedWithoutReadingItemsWhenETagMatches() throws Exception {
+        //given
+        when(itemStatsService.getETag(principal.getId())).thenReturn("\"v1\"");
+
+        //when + then
+        mockMvc().perform(get("/items").header(HttpHeaders.IF_NONE_MATCH, "\"v0\", \"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(content().string(""));
+        verify(itemService, never()).getItemsForUser(any());
+    }
+
+    @Test
+    void getItemsShouldReturnItemsWhenETagIsStale() throws Exception {
+        //given
+        when(itemStatsService.getETag(principal.getId())).thenReturn("\"v2\"");
+        when(itemService.getItemsForUser(principal.getId())).thenReturn(List.of());
+
+        //when + then
+        mockMvc().perform(get("/items").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void getItemsPageShouldReturnPageFromService() {
+        //given
+        ItemPage expectedPage = new ItemPage(List.of(new ItemResponse(UUID.randomUUID(), "newItem1")), "cursor");
+
+        when(itemService.getItemsPage(principal.getId(), 1, null)).thenReturn(expectedPage);
+
+        //when
+        ItemPage result = itemController.getItemsPage(1, null, principal);
+
+        //then
+        assertEquals(expectedPage, result);
+    }
+
+    @Test
+    void getItemChangesShouldReturnChangesFromService() {
+        //given
+        ItemChanges expectedChanges = new ItemChanges(List.of(new ItemResponse(UUID.randomUUID(), "newItem1")),
+                List.of(UUID.randomUUID()), "token2");
+
+        when(itemService.getChangesSince(principal.getId(), "token1")).thenReturn(expectedChanges);
+
+        //when
+        ItemChanges result = itemController.getItemChanges("token1", principal);
+
+        //then
+        assertEquals(expectedChanges, result);
+    }
+
+    @Test
+    void deleteItemShouldDelegateToServiceWithOwnerId() {
+        //given
+        UUID itemId = UUID.randomUUID();
+
+        //when
+        itemController.deleteItem(itemId, principal);
+
+        //then
+        verify(itemService).deleteItem(itemId, principal.getId());
+    }
+
+    @Test
+    void countItemsShouldReturnCountFromService() {
+        //given
+        when(itemService.countItemsForUser(principal.getId())).thenReturn(42L);
+
+        //when
+        ItemCountResponse result = itemController.countItems(principal);
+
+        //then
+        assertEquals(42L, result.getCount());
+    }
+
+    @Test
+    void searchItemsShouldReturnResultsFromSearchService() {
+        //given
+        List<ItemResponse> expectedItems = List.of(new ItemResponse(UUID.randomUUID(), "newItem1"));
+
+        when(itemSearchService.search(principal.getId(), "new", 5)).thenReturn(expectedItems);
 
         //when
-        List<ItemResponse> result = itemController.getItems(authentication);
+        List<ItemResponse> result = itemController.searchItems("new", 5, principal);
 
         //then
         assertEquals(expectedItems, result);
-        verify(itemService).getItemsForUser("bob");
+    }
+
+    @Test
+    void itemEventsShouldSubscribeAuthenticatedOwner() {
+        //given
+        SseEmitter emitter = new SseEmitter();
+        when(itemEventBroadcaster.subscribe(principal.getId())).thenReturn(emitter);
+
+        //when
+        SseEmitter result = itemController.itemEvents(principal);
+
+        //then
+        assertSame(emitter, result);
+    }
+
+    @Test
+    void getItemsShouldStreamNdjsonWhenRequested() throws Exception {
+        //given
+        ItemResponse item1 = new ItemResponse(UUID.randomUUID(), "newItem1");
+        ItemResponse item2 = new ItemResponse(UUID.randomUUID(), "newItem2");
+        doAnswer(invocation -> {
+            Consumer<ItemResponse> consumer = invocation.getArgument(1);
+            consumer.accept(item1);
+            consumer.accept(item2);
+            return null;
+        }).when(itemService).streamItemsForUser(eq(principal.getId()), any());
+
+        //when
+        MvcResult result = mockMvc().perform(get("/items").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc().perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "{\"id\":\"" + item1.getId() + "\",\"name\":\"newItem1\"}\n" +
+                        "{\"id\":\"" + item2.getId() + "\",\"name\":\"newItem2\"}\n"));
+        verify(itemService, never()).getItemsForUser(any());
+    }
+
+    @Test
+    void getItemsShouldKeepJsonListAsDefault() throws Exception {
+        //given
+        when(itemStatsService.getETag(principal.getId())).thenReturn("\"v1\"");
+        when(itemService.getItemsForUser(principal.getId())).thenReturn(List.of());
+
+        //when + then
+        mockMvc().perform(get("/items"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("[]"));
+        verify(itemService, never()).streamItemsForUser(any(), any());
+    }
+
+    private MockMvc mockMvc() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        return MockMvcBuilders.standaloneSetup(itemController)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
     }
 }
@@ -0,0 +1,239 @@
+package com.task.api.items;
+
+import com.task.api.common.ServiceBusyException;
+import com.task.api.items.dto.ItemResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemEventBroadcasterTests {
+
+    private final UUID ownerId = UUID.randomUUID();
+    private final List<RecordingEmitter> emitters = Collections.synchronizedList(new ArrayList<>());
+    private ItemEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> emitter.release.countDown());
+        broadcaster.destroy();
+    }
+
+    @Test
+    void committedItemsShouldBeSentToSubscribersOfTheirOwnerOnly() throws Exception {
+        //given
+        broadcaster = broadcaster(10, 8, ItemEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        broadcaster.subscribe(ownerId);
+        broadcaster.subscribe(UUID.randomUUID());
+
+        //when
+        broadcaster.onItemsChanged(created("newItem1"));
+
+        //then
+        awaitTrue(() -> emitters.get(0).events.size() == 2);
+        assertEquals(List.of(":subscribed", "event:created newItem1"), emitters.get(0).events);
+        assertEquals(List.of(":subscribed"), emitters.get(1).events);
+        assertEquals(1, broadcaster.getDeliveredCount());
+    }
+
+    @Test
+    void committedDeletesShouldBeSentAsDeletedEvents() throws Exception {
+        //given
+        broadcaster = broadcaster(10, 8, ItemEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        broadcaster.subscribe(ownerId);
+        UUID itemId = UUID.randomUUID();
+
+        //when
+        broadcaster.onItemsChanged(ItemsChangedEvent.deleted(ownerId, 1, List.of(itemId)));
+
+        //then
+        awaitTrue(() -> emitters.get(0).events.size() == 2);
+        assertEquals(List.of(":subscribed", "event:deleted " + itemId), emitters.get(0).events);
+    }
+
+    @Test
+    void fullQueueShouldDropOldestEventAndAskForResync() throws Exception {
+        //given
+        broadcaster = broadcaster(10, 1, ItemEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        broadcaster.subscribe(ownerId);
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.blockNextSend();
+
+        //when
+        broadcaster.onItemsChanged(created("first"));
+        assertTrue(emitter.blocked.await(5, TimeUnit.SECONDS));
+        broadcaster.onItemsChanged(created("dropped"));
+        broadcaster.onItemsChanged(created("last"));
+        emitter.release.countDown();
+
+        //then
+        awaitTrue(() -> emitter.events.size() == 4);
+        assertEquals(List.of(":subscribed", "event:created first", "event:resync", "event:created last"),
+                emitter.events);
+        assertEquals(1, broadcaster.getDroppedCount());
+    }
+
+    @Test
+    void fullQueueShouldDisconnectSubscriberWithDisconnectPolicy() throws Exception {
+        //given
+        broadcaster = broadcaster(10, 1, ItemEventBroadcaster.OverflowPolicy.DISCONNECT);
+        broadcaster.subscribe(ownerId);
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.blockNextSend();
+
+        //when
+        broadcaster.onItemsChanged(created("first"));
+        assertTrue(emitter.blocked.await(5, TimeUnit.SECONDS));
+        broadcaster.onItemsChanged(created("queued"));
+        broadcaster.onItemsChanged(created("overflow"));
+
+        //then
+        assertEquals(0, broadcaster.getSubscriberCount());
+        awaitTrue(() -> emitter.completed);
+    }
+
+    @Test
+    void stalledSubscriberShouldNotDelayOthers() throws Exception {
+        //given
+        broadcaster = broadcaster(10, 8, ItemEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 3; i++) {
+            broadcaster.subscribe(ownerId);
+            emitters.get(i).blockNextSend();
+        }
+        broadcaster.subscribe(ownerId);
+        RecordingEmitter reading = emitters.get(3);
+
+        //when
+        broadcaster.onItemsChanged(created("first"));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(emitters.get(i).blocked.await(5, TimeUnit.SECONDS));
+        }
+        broadcaster.onItemsChanged(created("second"));
+
+        //then
+        awaitTrue(() -> reading.events.size() == 3);
+        assertEquals(List.of(":subscribed", "event:created first", "event:created second"), reading.events);
+    }
+
+    @Test
+    void subscriberStalledLongerThanWriteTimeoutShouldBeDisconnected() throws Exception {
+        //given
+        broadcaster = broadcaster(10, 8, ItemEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        broadcaster.subscribe(ownerId);
+        broadcaster.subscribe(ownerId);
+        RecordingEmitter stalled = emitters.get(0);
+        stalled.blockNextSend();
+        broadcaster.onItemsChanged(created("first"));
+        assertTrue(stalled.blocked.await(5, TimeUnit.SECONDS));
+        Thread.sleep(300);
+
+        //when
+        broadcaster.closeStalledSubscribers();
+
+        //then
+        awaitTrue(() -> stalled.completed);
+        assertEquals(1, broadcaster.getSubscriberCount());
+        assertFalse(emitters.get(1).completed);
+    }
+
+    @Test
+    void subscribeShouldBeRejectedAboveMaxSubscribers() {
+        //given
+        broadcaster = broadcaster(1, 8, ItemEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        broadcaster.subscribe(ownerId);
+
+        //when + then
+        assertThrows(ServiceBusyException.class, () -> broadcaster.subscribe(ownerId));
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void heartbeatShouldBeSentToEverySubscriber() throws Exception {
+        //given
+        broadcaster = broadcaster(10, 8, ItemEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        broadcaster.subscribe(ownerId);
+        broadcaster.subscribe(UUID.randomUUID());
+
+        //when
+        broadcaster.heartbeat();
+
+        //then
+        awaitTrue(() -> emitters.stream().allMatch(emitter -> emitter.events.contains(":heartbeat")));
+    }
+
+    private ItemEventBroadcaster broadcaster(int maxSubscribers, int bufferSize,
+                                             ItemEventBroadcaster.OverflowPolicy policy) {
+        return new ItemEventBroadcaster(maxSubscribers, bufferSize, Duration.ofMinutes(1), Duration.ofMillis(200),
+                policy, Duration.ofSeconds(5)) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private ItemsChangedEvent created(String name) {
+        return ItemsChangedEvent.created(ownerId, 1, List.of(new ItemResponse(UUID.randomUUID(), name)));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blockNext;
+        private volatile boolean completed;
+
+        void blockNextSend() {
+            blockNext = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof String data) {
+                    text.append(data);
+                } else if (part.getData() instanceof List<?> items) {
+                    items.forEach(item -> text.append(item instanceof ItemResponse response ? response.getName() : item));
+                }
+            });
+            events.add(text.toString().replace("\n", " ").replace("data:", "").replaceAll("\\s+", " ").trim());
+            if (blockNext) {
+                blockNext = false;
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.task.api.items;
+
+import com.task.api.security.JwtService;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ItemEventStreamTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ItemEventBroadcaster itemEventBroadcaster;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setLogin("events-" + System.nanoTime());
+        user.setPassword("encoded");
+        user = userRepository.save(user);
+        token = jwtService.generateToken(user.getId(), user.getLogin());
+    }
+
+    @Test
+    void subscriberShouldReceiveCommittedItems() throws Exception {
+        //given
+        HttpResponse<Stream<String>> stream = client.send(request("/items/events")
+                        .header("Accept", "text/event-stream").GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+        waitForSubscriber();
+
+        //when
+        HttpResponse<String> created = client.send(request("/items")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"pushed\"}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        //then
+        assertEquals(204, created.statusCode());
+        Iterator<String> lines = stream.body().iterator();
+        String data = CompletableFuture.supplyAsync(() -> {
+            while (lines.hasNext()) {
+                String line = lines.next();
+                if (line.startsWith("data:")) {
+                    return line;
+                }
+            }
+            return null;
+        }).get(5, TimeUnit.SECONDS);
+        assertNotNull(data);
+        assertTrue(data.contains("\"name\":\"pushed\""));
+        stream.body().close();
+    }
+
+    @Test
+    void subscribeShouldRequireAuthentication() throws Exception {
+        //when
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/items/events")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        //then
+        assertTrue(response.statusCode() == 401 || response.statusCode() == 403);
+    }
+
+    private void waitForSubscriber() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (itemEventBroadcaster.getSubscriberCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,138 @@
+package com.task.api.items;
+
+import com.task.api.items.dto.ItemResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemNameIndexTests {
+
+    private ItemNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemNameIndex();
+        index.load(() -> 1, () -> List.of(
+                item("Milk"),
+                item("Oat milk"),
+                item("Milk chocolate"),
+                item("Bread"),
+                item("Almond milkshake"),
+                item("milk")));
+    }
+
+    @Test
+    void searchShouldRankExactThenPrefixThenSubstringMatches() {
+        //when
+        List<String> names = names(index.search("MILK", 10));
+
+        //then
+        assertEquals(List.of("Milk", "milk", "Milk chocolate", "Oat milk", "Almond milkshake"), names);
+    }
+
+    @Test
+    void searchShouldRespectLimit() {
+        //when
+        List<String> names = names(index.search("milk", 3));
+
+        //then
+        assertEquals(List.of("Milk", "milk", "Milk chocolate"), names);
+    }
+
+    @Test
+    void searchShouldMatchQueriesShorterThanTrigram() {
+        //when
+        List<String> names = names(index.search("re", 10));
+
+        //then
+        assertEquals(List.of("Bread"), names);
+    }
+
+    @Test
+    void searchShouldReturnNothingForUnknownTrigram() {
+        //when + then
+        assertTrue(index.search("xyz", 10).isEmpty());
+        assertTrue(index.search("milq", 10).isEmpty());
+    }
+
+    @Test
+    void addShouldMakeItemSearchableAndIgnoreDuplicates() {
+        //given
+        ItemResponse item = item("Buttermilk");
+
+        //when
+        index.add(item);
+        index.add(item);
+
+        //then
+        assertEquals(List.of("Buttermilk"), names(index.search("butter", 10)));
+        assertEquals(7, index.size());
+    }
+
+    @Test
+    void removeShouldHideItemFromAllMatchKindsAndKeepItRemoved() {
+        //given
+        ItemResponse item = item("Buttermilk");
+        index.add(item);
+
+        //when
+        index.remove(item.getId());
+        index.add(item);
+
+        //then
+        assertTrue(index.search("buttermilk", 10).isEmpty());
+        assertTrue(index.search("butter", 10).isEmpty());
+        assertFalse(names(index.search("ermil", 10)).contains("Buttermilk"));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void loadShouldRunOnlyOnceAfterSuccess() {
+        //given
+        ItemNameIndex fresh = new ItemNameIndex();
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        assertThrows(IllegalStateException.class, () -> fresh.load(() -> 1, () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("database down");
+        }));
+        fresh.load(() -> 1, () -> {
+            loads.incrementAndGet();
+            return List.of(item("Tea"));
+        });
+        fresh.load(() -> 1, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        //then
+        assertEquals(2, loads.get());
+        assertEquals(1, fresh.size());
+    }
+
+    @Test
+    void applyShouldSkipChangesThatDoNotFollowIndexedVersion() {
+        //when
+        index.apply(3, List.of(item("Milk powder")), List.of());
+        index.apply(2, List.of(item("Buttermilk")), List.of());
+
+        //then
+        assertEquals(List.of("Buttermilk"), names(index.search("butter", 10)));
+        assertTrue(index.search("powder", 10).isEmpty());
+        assertEquals(2, index.getVersion());
+    }
+
+    private static ItemResponse item(String name) {
+        return new ItemResponse(UUID.randomUUID(), name);
+    }
+
+    private static List<String> names(List<ItemResponse> items) {
+        return items.stream().map(ItemResponse::getName).toList();
+    }
+}
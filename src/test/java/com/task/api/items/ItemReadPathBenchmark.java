@@ -0,0 +1,72 @@
+package com.task.api.items;
+
+import com.task.api.BenchmarkContext;
+import com.task.api.items.dto.ItemResponse;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading all items of a user with {@code items} items through managed entities
+ * ({@link ItemRepository#findByOwnerId} mapped to {@link ItemResponse}) against the DTO projection
+ * of {@link ItemService#getItemsForUser}, on an embedded H2 database.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemReadPathBenchmark {
+
+    @Param({"10000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private ItemRepository itemRepository;
+    private UUID ownerId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of("items.batch.max-size", items));
+        itemService = context.getBean(ItemService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+
+        User owner = new User();
+        owner.setLogin("benchmark");
+        owner.setPassword("encoded");
+        ownerId = context.getBean(UserRepository.class).save(owner).getId();
+
+        List<String> names = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            names.add("item" + i);
+        }
+        itemService.createItems(names, ownerId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemResponse> managedEntities() {
+        return itemRepository.findByOwnerId(ownerId).stream()
+                .map(item -> new ItemResponse(item.getId(), item.getName()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<ItemResponse> dtoProjection() {
+        return itemService.getItemsForUser(ownerId);
+    }
+}
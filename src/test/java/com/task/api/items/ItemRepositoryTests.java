@@ -0,0 +1,137 @@
+package com.task.api.items;
+
+import com.task.api.items.dto.ItemResponse;
+import com.task.api.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class ItemRepositoryTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+    private Set<UUID> ownerItemIds;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("bob");
+        User other = persistUser("alice");
+        ownerItemIds = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            ownerItemIds.add(persistItem(owner, "item" + i).getId());
+            persistItem(other, "other" + i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesShouldSeekThroughOwnerItemsInIdOrder() {
+        //when
+        List<ItemResponse> firstPage = itemRepository.findFirstPageByOwnerId(owner.getId(), Limit.of(2));
+        List<ItemResponse> secondPage = itemRepository.findPageByOwnerIdAfter(owner.getId(),
+                firstPage.get(1).getId(), Limit.of(2));
+        List<ItemResponse> lastPage = itemRepository.findPageByOwnerIdAfter(owner.getId(),
+                secondPage.get(1).getId(), Limit.of(2));
+
+        //then
+        List<UUID> seen = new ArrayList<>();
+        firstPage.forEach(item -> seen.add(item.getId()));
+        secondPage.forEach(item -> seen.add(item.getId()));
+        lastPage.forEach(item -> seen.add(item.getId()));
+        assertEquals(1, lastPage.size());
+        assertEquals(5, seen.size());
+        assertEquals(ownerItemIds, new HashSet<>(seen));
+    }
+
+    @Test
+    void projectionShouldReturnOnlyOwnerItems() {
+        //when
+        List<ItemResponse> items = itemRepository.findResponsesByOwnerId(owner.getId());
+
+        //then
+        assertEquals(ownerItemIds, items.stream().map(ItemResponse::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void changesShouldReturnItemsAndTombstonesInVersionRangeInSeqOrder() {
+        //given
+        Item created = persistItem(owner, "created");
+        created.setSeq(2);
+        Item deleted = persistItem(owner, "deleted");
+        deleted.setSeq(3);
+        deleted.setDeleted(true);
+        deleted.setDeletedAt(Instant.now());
+        Item later = persistItem(owner, "later");
+        later.setSeq(4);
+        entityManager.flush();
+        entityManager.clear();
+
+        //when
+        List<ItemChange> changes = itemRepository.findChangesByOwnerId(owner.getId(), 1, 3);
+
+        //then
+        assertEquals(List.of(
+                new ItemChange(created.getId(), "created", false),
+                new ItemChange(deleted.getId(), "deleted", true)), changes);
+        assertTrue(itemRepository.findResponsesByOwnerId(owner.getId()).stream()
+                .noneMatch(item -> item.getId().equals(deleted.getId())));
+        assertTrue(itemRepository.findLiveByIdAndOwnerId(deleted.getId(), owner.getId()).isEmpty());
+    }
+
+    @Test
+    void deleteTombstonesBeforeShouldRemoveOnlyOldTombstones() {
+        //given
+        Item old = persistItem(owner, "old");
+        old.setDeleted(true);
+        old.setDeletedAt(Instant.now().minusSeconds(3600));
+        Item recent = persistItem(owner, "recent");
+        recent.setDeleted(true);
+        recent.setDeletedAt(Instant.now());
+        entityManager.flush();
+        entityManager.clear();
+
+        //when
+        int purged = itemRepository.deleteTombstonesBefore(Instant.now().minusSeconds(60));
+
+        //then
+        assertEquals(1, purged);
+        assertTrue(itemRepository.findById(old.getId()).isEmpty());
+        assertTrue(itemRepository.findById(recent.getId()).isPresent());
+        assertEquals(ownerItemIds.size(), itemRepository.findResponsesByOwnerId(owner.getId()).size());
+    }
+
+    private User persistUser(String login) {
+        User user = new User();
+        user.setLogin(login);
+        user.setPassword("encoded");
+        return entityManager.persist(user);
+    }
+
+    private Item persistItem(User itemOwner, String name) {
+        Item item = new Item();
+        item.setOwner(itemOwner);
+        item.setName(name);
+        return entityManager.persist(item);
+    }
+}
@@ -0,0 +1,53 @@
+package com.task.api.items;
+
+import com.task.api.items.dto.ItemResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures lookups in an {@link ItemNameIndex} of a single owner with {@code items} items,
+ * named by two random words and a number, for exact, prefix and substring queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "milk", "bread", "coffee", "apple", "orange", "butter", "cheese", "tomato", "pepper", "onion",
+            "garlic", "lemon", "banana", "yogurt", "cereal", "honey", "pasta", "rice", "salmon", "chicken"
+    };
+
+    @Param({"100000"})
+    private int items;
+
+    @Param({"coffee lemon 4217", "salmon", "ter che", "42"})
+    private String query;
+
+    private ItemNameIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<ItemResponse> source = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            source.add(new ItemResponse(UUID.randomUUID(), name));
+        }
+        index = new ItemNameIndex();
+        index.load(() -> 1, () -> source);
+    }
+
+    @Benchmark
+    public List<ItemResponse> search() {
+        return index.search(query, 20);
+    }
+}
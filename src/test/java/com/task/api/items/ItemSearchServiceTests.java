@@ -0,0 +1,152 @@
+package com.task.api.items;
+
+import com.task.api.common.BadRequestException;
+import com.task.api.items.dto.ItemResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSearchServiceTests {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemStatsService itemStatsService;
+
+    private ItemSearchService itemSearchService;
+
+    private final UUID ownerId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        itemSearchService = new ItemSearchService(itemRepository, itemStatsService,
+                TransactionOperations.withoutTransaction(), 2, 10);
+    }
+
+    @Test
+    void searchShouldBuildIndexOnceFromRepository() {
+        //given
+        ItemResponse item = new ItemResponse(UUID.randomUUID(), "Milk");
+        when(itemRepository.findResponsesByOwnerId(ownerId)).thenReturn(List.of(item));
+
+        //when
+        List<ItemResponse> first = itemSearchService.search(ownerId, "mil", 10);
+        List<ItemResponse> second = itemSearchService.search(ownerId, "ilk", 10);
+
+        //then
+        assertEquals(List.of(item), first);
+        assertEquals(List.of(item), second);
+        verify(itemRepository, times(1)).findResponsesByOwnerId(ownerId);
+    }
+
+    @Test
+    void committedItemsShouldBeAddedToBuiltIndex() {
+        //given
+        when(itemRepository.findResponsesByOwnerId(ownerId)).thenReturn(List.of());
+        itemSearchService.search(ownerId, "milk", 10);
+        ItemResponse created = new ItemResponse(UUID.randomUUID(), "Milk");
+
+        //when
+        itemSearchService.onItemsChanged(ItemsChangedEvent.created(ownerId, 1, List.of(created)));
+        when(itemStatsService.getVersion(ownerId)).thenReturn(1L);
+
+        //then
+        assertEquals(List.of(created), itemSearchService.search(ownerId, "milk", 10));
+        verify(itemRepository, times(1)).findResponsesByOwnerId(ownerId);
+    }
+
+    @Test
+    void committedDeletesShouldBeRemovedFromBuiltIndex() {
+        //given
+        ItemResponse milk = new ItemResponse(UUID.randomUUID(), "Milk");
+        when(itemRepository.findResponsesByOwnerId(ownerId)).thenReturn(List.of(milk));
+        itemSearchService.search(ownerId, "milk", 10);
+
+        //when
+        itemSearchService.onItemsChanged(ItemsChangedEvent.deleted(ownerId, 1, List.of(milk.getId())));
+
+        //then
+        assertTrue(itemSearchService.search(ownerId, "milk", 10).isEmpty());
+    }
+
+    @Test
+    void committedItemsOfUnindexedOwnerShouldNotBuildIndex() {
+        //when
+        itemSearchService.onItemsChanged(ItemsChangedEvent.created(ownerId, 1,
+                List.of(new ItemResponse(UUID.randomUUID(), "Milk"))));
+
+        //then
+        assertEquals(0, itemSearchService.getIndexedOwnerCount());
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void searchShouldRebuildIndexWhenOwnerVersionMovedOn() {
+        //given
+        ItemResponse milk = new ItemResponse(UUID.randomUUID(), "Milk");
+        ItemResponse oatMilk = new ItemResponse(UUID.randomUUID(), "Oat milk");
+        when(itemRepository.findResponsesByOwnerId(ownerId)).thenReturn(List.of(milk)).thenReturn(List.of(oatMilk));
+        when(itemStatsService.getCommittedVersion(ownerId)).thenReturn(3L).thenReturn(5L);
+        itemSearchService.search(ownerId, "milk", 10);
+
+        //when
+        when(itemStatsService.getVersion(ownerId)).thenReturn(5L);
+        List<ItemResponse> results = itemSearchService.search(ownerId, "milk", 10);
+
+        //then
+        assertEquals(List.of(oatMilk), results);
+        verify(itemRepository, times(2)).findResponsesByOwnerId(ownerId);
+    }
+
+    @Test
+    void changeFollowingMissedOneShouldRebuildIndex() {
+        //given
+        ItemResponse milk = new ItemResponse(UUID.randomUUID(), "Milk");
+        when(itemRepository.findResponsesByOwnerId(ownerId)).thenReturn(List.of()).thenReturn(List.of(milk));
+        when(itemStatsService.getCommittedVersion(ownerId)).thenReturn(0L).thenReturn(2L);
+        itemSearchService.search(ownerId, "milk", 10);
+
+        //when
+        itemSearchService.onItemsChanged(ItemsChangedEvent.created(ownerId, 2, List.of(milk)));
+        when(itemStatsService.getVersion(ownerId)).thenReturn(2L);
+
+        //then
+        assertEquals(List.of(milk), itemSearchService.search(ownerId, "milk", 10));
+        verify(itemRepository, times(2)).findResponsesByOwnerId(ownerId);
+    }
+
+    @Test
+    void searchShouldKeepAtMostMaxOwnersIndexes() {
+        //given
+        when(itemRepository.findResponsesByOwnerId(any())).thenReturn(List.of());
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            itemSearchService.search(UUID.randomUUID(), "milk", 10);
+        }
+
+        //then
+        assertEquals(2, itemSearchService.getIndexedOwnerCount());
+    }
+
+    @Test
+    void searchShouldRejectBlankQueryOrLimitOutOfRange() {
+        //when + then
+        assertThrows(BadRequestException.class, () -> itemSearchService.search(ownerId, " ", 10));
+        assertThrows(BadRequestException.class, () -> itemSearchService.search(ownerId, "milk", 0));
+        assertThrows(BadRequestException.class, () -> itemSearchService.search(ownerId, "milk", 11));
+        verifyNoInteractions(itemRepository);
+    }
+}
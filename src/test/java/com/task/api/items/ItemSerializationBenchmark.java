@@ -0,0 +1,62 @@
+package com.task.api.items;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.api.items.dto.ItemResponse;
+import com.task.api.user.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in-memory part of {@code GET /items}: mapping {@link Item} entities to {@link ItemResponse}
+ * and serializing the responses to JSON with an object mapper configured like Spring Boot's.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+    private List<Item> entities;
+    private List<ItemResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        User owner = new User();
+        owner.setId(UUID.randomUUID());
+        entities = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Item item = new Item();
+            item.setId(UUID.randomUUID());
+            item.setName("item" + i);
+            item.setOwner(owner);
+            entities.add(item);
+        }
+        responses = toResponses();
+    }
+
+    @Benchmark
+    public List<ItemResponse> toResponses() {
+        return entities.stream()
+                .map(item -> new ItemResponse(item.getId(), item.getName()))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -1,22 +1,42 @@
 package com.task.api.items;
 
+import com.task.api.common.BadRequestException;
+import com.task.api.common.ConflictException;
+import com.task.api.common.GoneException;
+import com.task.api.common.NotFoundException;
+import com.task.api.items.dto.ItemChanges;
+import com.task.api.items.dto.ItemPage;
 import com.task.api.items.dto.ItemResponse;
 import com.task.api.user.User;
 import com.task.api.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -29,94 +49,307 @@ public class ItemServiceTests {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemStatsService itemStatsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private ItemService itemService;
 
     @Captor
     private ArgumentCaptor<Item> itemCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<Item>> itemsCaptor;
+
+    @Captor
+    private ArgumentCaptor<ItemsChangedEvent> eventCaptor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(itemService, "maxPageLimit", 100);
+        ReflectionTestUtils.setField(itemService, "maxBatchSize", 2);
+        ReflectionTestUtils.setField(itemService, "tombstoneRetention", Duration.ofDays(30));
+    }
+
     @Test
-    void createItemShouldSaveItemForExistingUser() {
+    void createItemShouldSaveItemWithOwnerReferenceInTransaction() {
         // given
-        String login = "bob";
+        UUID ownerId = UUID.randomUUID();
         String itemName = "newItem1";
 
-        User mockUser = new User();
-        mockUser.setId(UUID.randomUUID());
-        mockUser.setLogin(login);
+        User ownerReference = new User();
+        ownerReference.setId(ownerId);
 
-        when(userRepository.findByLogin(login)).thenReturn(Optional.of(mockUser));
+        when(userRepository.getReferenceById(ownerId)).thenReturn(ownerReference);
+        when(itemRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // when
-        itemService.createItem(itemName, login);
+        itemService.createItem(itemName, ownerId);
 
         // then
-        verify(itemRepository).save(itemCaptor.capture());
-        Item savedItem = itemCaptor.getValue();
+        verify(transactionTemplate).executeWithoutResult(any());
+        verify(itemRepository).saveAll(itemsCaptor.capture());
+        Item savedItem = itemsCaptor.getValue().get(0);
 
         assertEquals(itemName, savedItem.getName());
-        assertEquals(mockUser, savedItem.getOwner());
+        assertSame(ownerReference, savedItem.getOwner());
+        verify(userRepository, never()).findByLogin(any());
+        verify(itemStatsService).recordChange(ownerId, 1);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(ownerId, eventCaptor.getValue().ownerId());
+        assertEquals(List.of(itemName), eventCaptor.getValue().created().stream().map(ItemResponse::getName).toList());
+    }
+
+    @Test
+    void createItemShouldInsertConcurrentCreatesInOneGroupWhenGroupCommitIsEnabled() throws Exception {
+        // given
+        ReflectionTestUtils.setField(itemService, "groupCommitEnabled", true);
+        ReflectionTestUtils.setField(itemService, "groupCommitMaxSize", 2);
+        ReflectionTestUtils.setField(itemService, "groupCommitLinger", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(itemService, "groupCommitQueueCapacity", 10);
+        ReflectionTestUtils.setField(itemService, "groupCommitRetryAfter", Duration.ofSeconds(1));
+        itemService.startGroupCommit();
+
+        UUID firstOwnerId = UUID.randomUUID();
+        UUID secondOwnerId = UUID.randomUUID();
+        when(userRepository.getReferenceById(any())).thenAnswer(invocation -> {
+            User owner = new User();
+            owner.setId(invocation.getArgument(0));
+            return owner;
+        });
+        when(itemRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> itemService.createItem("newItem1", firstOwnerId));
+            Future<?> second = executor.submit(() -> itemService.createItem("newItem2", secondOwnerId));
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+            itemService.stopGroupCommit();
+        }
+
+        // then
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+        verify(itemRepository, times(1)).saveAll(itemsCaptor.capture());
+        assertEquals(2, itemsCaptor.getValue().size());
+        verify(itemStatsService).recordChange(firstOwnerId, 1);
+        verify(itemStatsService).recordChange(secondOwnerId, 1);
+        verify(eventPublisher, times(2)).publishEvent(any(ItemsChangedEvent.class));
+        assertEquals(1, itemService.getGroupCommitter().getGroupCount());
+    }
+
+    @Test
+    void createItemsShouldSaveAllItemsWithSingleOwnerReference() {
+        // given
+        UUID ownerId = UUID.randomUUID();
+        User ownerReference = new User();
+        ownerReference.setId(ownerId);
+
+        when(userRepository.getReferenceById(ownerId)).thenReturn(ownerReference);
+        when(itemStatsService.recordChange(ownerId, 2)).thenReturn(7L);
+        when(itemRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            items.forEach(item -> item.setId(UUID.randomUUID()));
+            return items;
+        });
+
+        // when
+        List<UUID> ids = itemService.createItems(List.of("newItem1", "newItem2"), ownerId);
+
+        // then
+        verify(itemRepository).saveAll(itemsCaptor.capture());
+        List<Item> saved = itemsCaptor.getValue();
+        assertEquals(List.of("newItem1", "newItem2"), saved.stream().map(Item::getName).toList());
+        assertTrue(saved.stream().allMatch(item -> item.getOwner() == ownerReference));
+        assertTrue(saved.stream().allMatch(item -> item.getSeq() == 7L));
+        assertEquals(saved.stream().map(Item::getId).toList(), ids);
+        verify(userRepository, times(1)).getReferenceById(ownerId);
+        verify(itemStatsService).checkQuota(ownerId, 2);
+        verify(itemStatsService, times(1)).recordChange(ownerId, 2);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(ids, eventCaptor.getValue().created().stream().map(ItemResponse::getId).toList());
+    }
+
+    @Test
+    void createItemShouldNotInsertWhenQuotaIsReached() {
+        // given
+        UUID ownerId = UUID.randomUUID();
+        doThrow(new ConflictException("Item limit of 2 reached.")).when(itemStatsService).checkQuota(ownerId, 1);
+
+        // when + then
+        assertThrows(ConflictException.class, () -> itemService.createItem("newItem1", ownerId));
+        verifyNoInteractions(itemRepository, transactionTemplate);
+    }
+
+    @Test
+    void createItemsShouldNotInsertWhenQuotaUpdateFails() {
+        // given
+        UUID ownerId = UUID.randomUUID();
+        doThrow(new ConflictException("Item limit of 2 reached.")).when(itemStatsService).recordChange(ownerId, 2);
+
+        // when + then
+        assertThrows(ConflictException.class, () -> itemService.createItems(List.of("a", "b"), ownerId));
+        verifyNoInteractions(itemRepository, eventPublisher);
+    }
+
+    @Test
+    void deleteItemShouldLeaveTombstoneWithNewVersion() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        Item item = new Item();
+        item.setId(UUID.randomUUID());
+        item.setName("newItem1");
+
+        when(itemStatsService.recordChange(ownerId, -1)).thenReturn(5L);
+        when(itemRepository.findLiveByIdAndOwnerId(item.getId(), ownerId)).thenReturn(Optional.of(item));
+
+        //when
+        itemService.deleteItem(item.getId(), ownerId);
+
+        //then
+        assertTrue(item.isDeleted());
+        assertNotNull(item.getDeletedAt());
+        assertEquals(5L, item.getSeq());
+        verify(itemRepository, never()).delete(any());
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(List.of(item.getId()), eventCaptor.getValue().deleted());
+    }
+
+    @Test
+    void deleteItemShouldFailForMissingItem() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        UUID itemId = UUID.randomUUID();
+        when(itemRepository.findLiveByIdAndOwnerId(itemId, ownerId)).thenReturn(Optional.empty());
+
+        //when + then
+        assertThrows(NotFoundException.class, () -> itemService.deleteItem(itemId, ownerId));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void getChangesSinceShouldReturnAllItemsOnInitialSyncAndOnlyChangesAfterwards() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        ItemResponse kept = new ItemResponse(UUID.randomUUID(), "newItem1");
+        ItemResponse created = new ItemResponse(UUID.randomUUID(), "newItem2");
+
+        when(itemStatsService.getCommittedVersion(ownerId)).thenReturn(3L, 5L);
+        when(itemRepository.findResponsesByOwnerId(ownerId)).thenReturn(List.of(kept));
+        when(itemRepository.findChangesByOwnerId(ownerId, 3L, 5L)).thenReturn(List.of(
+                new ItemChange(created.getId(), created.getName(), false),
+                new ItemChange(kept.getId(), kept.getName(), true)));
+
+        //when
+        ItemChanges initial = itemService.getChangesSince(ownerId, "");
+        ItemChanges delta = itemService.getChangesSince(ownerId, initial.getSyncToken());
+
+        //then
+        assertEquals(List.of(kept), initial.getItems());
+        assertTrue(initial.getDeleted().isEmpty());
+        assertEquals(List.of(created.getId()), delta.getItems().stream().map(ItemResponse::getId).toList());
+        assertEquals(List.of(kept.getId()), delta.getDeleted());
+        assertNotEquals(initial.getSyncToken(), delta.getSyncToken());
     }
 
     @Test
-    void createItemShouldThrowExceptionWhenUserNotFound() {
+    void getChangesSinceShouldRejectMalformedAndExpiredTokens() {
+        //given
+        UUID ownerId = UUID.randomUUID();
+        byte[] expired = ByteBuffer.allocate(16)
+                .putLong(1L)
+                .putLong(Instant.now().minus(Duration.ofDays(31)).toEpochMilli())
+                .array();
+
+        //when + then
+        assertThrows(BadRequestException.class, () -> itemService.getChangesSince(ownerId, "not a token"));
+        assertThrows(GoneException.class, () -> itemService.getChangesSince(ownerId,
+                Base64.getUrlEncoder().withoutPadding().encodeToString(expired)));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void countItemsForUserShouldReturnMaintainedCount() {
         // given
-        String login = "unknown";
-        when(userRepository.findByLogin(login)).thenReturn(Optional.empty());
+        UUID ownerId = UUID.randomUUID();
+        when(itemStatsService.getCount(ownerId)).thenReturn(3L);
 
         // when + then
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> itemService.createItem("Item", login));
+        assertEquals(3L, itemService.countItemsForUser(ownerId));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void createItemsShouldRejectEmptyOrOversizedBatch() {
+        // given
+        UUID ownerId = UUID.randomUUID();
 
-        assertEquals("User not found.", exception.getMessage());
-        verify(itemRepository, never()).save(any());
+        // when + then
+        assertThrows(BadRequestException.class, () -> itemService.createItems(List.of(), ownerId));
+        assertThrows(BadRequestException.class, () -> itemService.createItems(List.of("a", "b", "c"), ownerId));
+        verifyNoInteractions(itemRepository, itemStatsService, eventPublisher);
     }
 
     @Test
-    void getItemsForUserShouldReturnMappedItemResponses() {
+    void getItemsForUserShouldReturnProjectedItemResponses() {
         // given
-        String login = "bob";
         UUID userId = UUID.randomUUID();
+        List<ItemResponse> items = List.of(
+                new ItemResponse(UUID.randomUUID(), "newItem1"),
+                new ItemResponse(UUID.randomUUID(), "newItem2")
+        );
 
-        User user = new User();
-        user.setId(userId);
-        user.setLogin(login);
+        when(itemRepository.findResponsesByOwnerId(userId)).thenReturn(items);
 
-        Item item1 = new Item();
-        item1.setId(UUID.randomUUID());
-        item1.setName("newItem1");
-        item1.setOwner(user);
+        // when
+        List<ItemResponse> result = itemService.getItemsForUser(userId);
 
-        Item item2 = new Item();
-        item2.setId(UUID.randomUUID());
-        item2.setName("newItem2");
-        item2.setOwner(user);
+        // then
+        assertEquals(items, result);
+        verify(itemRepository, never()).findByOwnerId(any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getItemsPageShouldReturnCursorThatSeeksPastLastItem() {
+        // given
+        UUID ownerId = UUID.randomUUID();
+        ItemResponse first = new ItemResponse(UUID.randomUUID(), "newItem1");
+        ItemResponse second = new ItemResponse(UUID.randomUUID(), "newItem2");
+        ItemResponse third = new ItemResponse(UUID.randomUUID(), "newItem3");
 
-        when(userRepository.findByLogin(login)).thenReturn(Optional.of(user));
-        when(itemRepository.findByOwnerId(userId)).thenReturn(List.of(item1, item2));
+        when(itemRepository.findFirstPageByOwnerId(ownerId, Limit.of(3))).thenReturn(List.of(first, second, third));
+        when(itemRepository.findPageByOwnerIdAfter(ownerId, second.getId(), Limit.of(3))).thenReturn(List.of(third));
 
         // when
-        List<ItemResponse> result = itemService.getItemsForUser(login);
+        ItemPage firstPage = itemService.getItemsPage(ownerId, 2, null);
+        ItemPage lastPage = itemService.getItemsPage(ownerId, 2, firstPage.getNextCursor());
 
         // then
-        assertEquals(2, result.size());
-        assertEquals(item1.getId(), result.get(0).getId());
-        assertEquals(item1.getName(), result.get(0).getName());
-        assertEquals(item2.getId(), result.get(1).getId());
-        assertEquals(item2.getName(), result.get(1).getName());
+        assertEquals(List.of(first, second), firstPage.getItems());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of(third), lastPage.getItems());
+        assertNull(lastPage.getNextCursor());
     }
 
     @Test
-    void getItemsForUserShouldThrowExceptionWhenUserNotFound() {
+    void getItemsPageShouldRejectInvalidLimitAndCursor() {
         // given
-        String login = "unknown";
-        when(userRepository.findByLogin(login)).thenReturn(Optional.empty());
+        UUID ownerId = UUID.randomUUID();
 
-        // expect
-        RuntimeException ex = assertThrows(RuntimeException.class, () ->
-                itemService.getItemsForUser(login)
-        );
-
-        assertEquals("User not found.", ex.getMessage());
-        verify(itemRepository, never()).findByOwnerId(any());
+        // when + then
+        assertThrows(BadRequestException.class, () -> itemService.getItemsPage(ownerId, 0, null));
+        assertThrows(BadRequestException.class, () -> itemService.getItemsPage(ownerId, 101, null));
+        assertThrows(BadRequestException.class, () -> itemService.getItemsPage(ownerId, 10, "not a cursor"));
+        verifyNoInteractions(itemRepository);
     }
 }
@@ -0,0 +1,201 @@
+package com.task.api.items;
+
+import com.task.api.common.ConflictException;
+import com.task.api.common.NotFoundException;
+import com.task.api.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemStatsServiceTests {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private Clock clock;
+
+    private ItemStatsService itemStatsService;
+
+    private final UUID ownerId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        itemStatsService = new ItemStatsService(userRepository, 100, Duration.ofSeconds(2), 10, clock);
+    }
+
+    @Test
+    void getVersionShouldBeCachedUntilTtlExpires() {
+        //given
+        when(clock.millis()).thenReturn(0L);
+        when(userRepository.findItemStatsById(ownerId))
+                .thenReturn(Optional.of(new ItemStats(3, 0L))).thenReturn(Optional.of(new ItemStats(4, 1L)));
+
+        //when
+        long first = itemStatsService.getVersion(ownerId);
+        long cached = itemStatsService.getVersion(ownerId);
+        when(clock.millis()).thenReturn(2_000L);
+        long reloaded = itemStatsService.getVersion(ownerId);
+
+        //then
+        assertEquals(3L, first);
+        assertEquals(3L, cached);
+        assertEquals(4L, reloaded);
+        verify(userRepository, times(2)).findItemStatsById(ownerId);
+    }
+
+    @Test
+    void getETagShouldContainOwnerAndVersion() {
+        //given
+        when(userRepository.findItemStatsById(ownerId)).thenReturn(Optional.of(new ItemStats(7, 0L)));
+
+        //when
+        String etag = itemStatsService.getETag(ownerId);
+
+        //then
+        assertEquals("\"" + ownerId + "-7\"", etag);
+    }
+
+    @Test
+    void getVersionAndCountShouldBeZeroForUnknownOwner() {
+        //given
+        when(userRepository.findItemStatsById(ownerId)).thenReturn(Optional.empty());
+
+        //when + then
+        assertEquals(0L, itemStatsService.getVersion(ownerId));
+        assertEquals(0L, itemStatsService.getCount(ownerId));
+    }
+
+    @Test
+    void getCountShouldCountItemsOnceForOwnerWithoutCount() {
+        //given
+        when(userRepository.findItemStatsById(ownerId))
+                .thenReturn(Optional.of(new ItemStats(1, null))).thenReturn(Optional.of(new ItemStats(1, 5L)));
+
+        //when
+        long count = itemStatsService.getCount(ownerId);
+        long cached = itemStatsService.getCount(ownerId);
+
+        //then
+        assertEquals(5L, count);
+        assertEquals(5L, cached);
+        verify(userRepository, times(1)).initItemCount(ownerId);
+    }
+
+    @Test
+    void checkQuotaShouldRejectWhenCachedCountWouldExceedMaximum() {
+        //given
+        when(userRepository.findItemStatsById(ownerId)).thenReturn(Optional.of(new ItemStats(1, 9L)));
+
+        //when + then
+        itemStatsService.checkQuota(ownerId, 1);
+        assertThrows(ConflictException.class, () -> itemStatsService.checkQuota(ownerId, 2));
+    }
+
+    @Test
+    void recordChangeShouldApplyDeltaWithinQuota() {
+        //given
+        when(userRepository.applyItemsChange(ownerId, 2, 10)).thenReturn(1);
+
+        //when
+        itemStatsService.recordChange(ownerId, 2);
+
+        //then
+        verify(userRepository, never()).initItemCount(any());
+    }
+
+    @Test
+    void recordChangeShouldCountItemsAndRetryWhenCountIsMissing() {
+        //given
+        when(userRepository.applyItemsChange(ownerId, 1, 10)).thenReturn(0, 1);
+        when(userRepository.initItemCount(ownerId)).thenReturn(1);
+
+        //when
+        itemStatsService.recordChange(ownerId, 1);
+
+        //then
+        verify(userRepository).initItemCount(ownerId);
+        verify(userRepository, times(2)).applyItemsChange(ownerId, 1, 10);
+    }
+
+    @Test
+    void recordChangeShouldRejectWhenQuotaIsExceeded() {
+        //given
+        when(userRepository.applyItemsChange(ownerId, 1, 10)).thenReturn(0);
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+
+        //when + then
+        assertThrows(ConflictException.class, () -> itemStatsService.recordChange(ownerId, 1));
+        verify(userRepository, times(1)).applyItemsChange(ownerId, 1, 10);
+    }
+
+    @Test
+    void recordChangeShouldRejectUnknownOwnerAsNotFound() {
+        //given
+        when(userRepository.applyItemsChange(ownerId, 1, 10)).thenReturn(0);
+        when(userRepository.existsById(ownerId)).thenReturn(false);
+
+        //when + then
+        assertThrows(NotFoundException.class, () -> itemStatsService.recordChange(ownerId, 1));
+    }
+
+    @Test
+    void recordChangeShouldNotLimitRemovals() {
+        //given
+        when(userRepository.applyItemsChange(ownerId, -1, Long.MAX_VALUE)).thenReturn(1);
+
+        //when
+        itemStatsService.recordChange(ownerId, -1);
+
+        //then
+        verify(userRepository).applyItemsChange(ownerId, -1, Long.MAX_VALUE);
+    }
+
+    @Test
+    void committedChangeShouldInvalidateCachedStats() {
+        //given
+        when(userRepository.findItemStatsById(ownerId))
+                .thenReturn(Optional.of(new ItemStats(1, 1L))).thenReturn(Optional.of(new ItemStats(2, 2L)));
+        itemStatsService.getVersion(ownerId);
+
+        //when
+        itemStatsService.onItemsChanged(ItemsChangedEvent.created(ownerId, 1, List.of()));
+
+        //then
+        assertEquals(2L, itemStatsService.getVersion(ownerId));
+        assertEquals(2L, itemStatsService.getCount(ownerId));
+    }
+
+    @Test
+    void statsReadBeforeConcurrentInvalidationShouldNotBeCached() {
+        //given
+        when(clock.millis()).thenReturn(0L);
+        when(userRepository.findItemStatsById(ownerId)).thenAnswer(invocation -> {
+            // another request's write commits while these stats are being read
+            itemStatsService.onItemsChanged(ItemsChangedEvent.deleted(ownerId, 1, List.of(UUID.randomUUID())));
+            return Optional.of(new ItemStats(1, 1L));
+        }).thenReturn(Optional.of(new ItemStats(2, 0L)));
+
+        //when
+        long stale = itemStatsService.getVersion(ownerId);
+        long reloaded = itemStatsService.getVersion(ownerId);
+
+        //then
+        assertEquals(1L, stale);
+        assertEquals(2L, reloaded);
+        verify(userRepository, times(2)).findItemStatsById(ownerId);
+    }
+}
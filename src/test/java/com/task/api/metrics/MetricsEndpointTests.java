@@ -0,0 +1,83 @@
+package com.task.api.metrics;
+
+import com.task.api.security.JwtService;
+import com.task.api.user.User;
+import com.task.api.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
+public class MetricsEndpointTests {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void prometheusEndpointShouldExposeHotPathMetricsWithoutToken() throws Exception {
+        //given
+        User user = new User();
+        user.setLogin("metrics-" + System.nanoTime());
+        user.setPassword("encoded");
+        user = userRepository.save(user);
+        String token = jwtService.generateToken(user.getId(), user.getLogin());
+        HttpResponse<String> items = client.send(request(port, "/items").header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json").GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, items.statusCode());
+
+        //when
+        HttpResponse<String> response = client.send(request(managementPort, "/actuator/prometheus").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        //then
+        assertEquals(200, response.statusCode());
+        String metrics = response.body();
+        assertTrue(metrics.contains("api_auth_jwt_verify_seconds_count{outcome=\"valid\"}"));
+        assertTrue(metrics.matches("(?s).*api_request_phase_seconds_count\\{[^}]*phase=\"database\",uri=\"/items\"}.*"));
+        assertTrue(metrics.matches("(?s).*http_server_requests_seconds_count\\{[^}]*uri=\"/items\"}.*"));
+        assertTrue(metrics.contains("spring_data_repository_invocations_seconds_count"));
+        assertTrue(metrics.contains("hikaricp_connections_active"));
+        assertTrue(metrics.contains("hibernate_sessions_open_total"));
+        assertTrue(metrics.contains("cache_gets_total{cache=\"jwt.verified\",result=\"hit\"}"));
+        assertTrue(metrics.contains("password_hashing_seconds_count"));
+    }
+
+    @Test
+    void prometheusEndpointShouldNotBeServedOnApplicationPort() throws Exception {
+        //when
+        HttpResponse<String> response = client.send(request(port, "/actuator/prometheus").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        //then
+        assertNotEquals(port, managementPort);
+        assertEquals(404, response.statusCode());
+    }
+
+    private HttpRequest.Builder request(int port, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    }
+}
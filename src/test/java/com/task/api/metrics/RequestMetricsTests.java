@@ -0,0 +1,68 @@
+package com.task.api.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestMetricsTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestMetrics requestMetrics = new RequestMetrics(registry);
+
+    @Test
+    void timedCallsShouldBeRecordedAndAddedToPhasesOfCurrentRequest() {
+        //given
+        requestMetrics.startRequest();
+
+        //when
+        requestMetrics.record(RequestMetrics.JWT_VERIFY, RequestMetrics.Phase.AUTH, System.nanoTime() - 1_000_000,
+                "outcome", "valid");
+        RequestMetrics.addToCurrentRequest(RequestMetrics.Phase.DATABASE, 2_000_000);
+        RequestMetrics.addToCurrentRequest(RequestMetrics.Phase.DATABASE, 3_000_000);
+        requestMetrics.finishRequest("GET", "/items", "SUCCESS");
+
+        //then
+        assertEquals(1, registry.get(RequestMetrics.JWT_VERIFY).tag("outcome", "valid").timer().count());
+        assertTrue(phase("auth").totalTime(TimeUnit.MILLISECONDS) >= 1);
+        assertEquals(5, phase("database").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(0, phase("password_hashing").totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void timedCallsOutsideOfRequestShouldOnlyRecordTheirTimer() {
+        //when
+        requestMetrics.record(RequestMetrics.PASSWORD_HASHING, RequestMetrics.Phase.PASSWORD_HASHING,
+                System.nanoTime(), "operation", "encode", "outcome", "success");
+        requestMetrics.finishRequest("POST", "/register", "SUCCESS");
+
+        //then
+        assertEquals(1, registry.get(RequestMetrics.PASSWORD_HASHING).timer().count());
+        assertNull(registry.find(RequestMetrics.REQUEST_PHASE).timer());
+    }
+
+    @Test
+    void repeatedCallsShouldBeRecordedByTheSameTimers() {
+        //when
+        for (int i = 0; i < 2; i++) {
+            requestMetrics.startRequest();
+            requestMetrics.record(RequestMetrics.JWT_VERIFY, RequestMetrics.Phase.AUTH, System.nanoTime(),
+                    "outcome", "valid");
+            requestMetrics.finishRequest("GET", "/items", "SUCCESS");
+        }
+
+        //then
+        assertEquals(2, registry.get(RequestMetrics.JWT_VERIFY).tag("outcome", "valid").timer().count());
+        assertEquals(2, phase("auth").count());
+        assertEquals(1 + RequestMetrics.Phase.values().length, registry.getMeters().size());
+    }
+
+    private Timer phase(String phase) {
+        return registry.get(RequestMetrics.REQUEST_PHASE)
+                .tags("method", "GET", "uri", "/items", "outcome", "SUCCESS", "phase", phase)
+                .timer();
+    }
+}
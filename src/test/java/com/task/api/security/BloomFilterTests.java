@@ -0,0 +1,48 @@
+package com.task.api.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTests {
+
+    @Test
+    void shouldContainEveryAddedValue() {
+        //given
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(UUID.randomUUID().toString());
+        }
+
+        //when
+        values.forEach(filter::add);
+
+        //then
+        values.forEach(value -> assertTrue(filter.mightContain(value)));
+    }
+
+    @Test
+    void falsePositiveRateShouldStayNearTarget() {
+        //given
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        //when
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
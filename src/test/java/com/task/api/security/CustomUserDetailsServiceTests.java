@@ -2,17 +2,21 @@ package com.task.api.security;
 
 import com.task.api.user.User;
 import com.task.api.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -22,9 +26,16 @@ public class CustomUserDetailsServiceTests {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    private ExpiringCacheTests.MutableClock clock;
+
     private CustomUserDetailsService customUserDetailsService;
 
+    @BeforeEach
+    void setUp() {
+        clock = new ExpiringCacheTests.MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        customUserDetailsService = new CustomUserDetailsService(userRepository, 100, Duration.ofSeconds(60), clock);
+    }
+
     @Test
     void loadUserByUsername_ShouldReturnUserDetails_WhenUserExists() {
         // given
@@ -54,4 +65,45 @@ public class CustomUserDetailsServiceTests {
         assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername(login));
         verify(userRepository).findByLogin(login);
     }
+
+    @Test
+    void loadUserByUsername_ShouldServeRepeatedLookupsFromCache() {
+        // given
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setLogin("bob");
+        user.setPassword("123");
+
+        when(userRepository.findByLogin("bob")).thenReturn(Optional.of(user));
+
+        // when
+        UserPrincipal first = customUserDetailsService.loadUserByUsername("bob");
+        UserPrincipal second = customUserDetailsService.loadUserByUsername("bob");
+
+        // then
+        assertSame(first, second);
+        assertEquals(user.getId(), second.getId());
+        assertEquals(0.5, customUserDetailsService.getPrincipals().getHitRatio());
+        verify(userRepository, times(1)).findByLogin("bob");
+    }
+
+    @Test
+    void loadUserByUsername_ShouldReloadAfterTtlOrEviction() {
+        // given
+        User user = new User();
+        user.setLogin("bob");
+        user.setPassword("123");
+
+        when(userRepository.findByLogin("bob")).thenReturn(Optional.of(user));
+
+        // when
+        customUserDetailsService.loadUserByUsername("bob");
+        clock.advance(Duration.ofSeconds(61));
+        customUserDetailsService.loadUserByUsername("bob");
+        customUserDetailsService.evict("bob");
+        customUserDetailsService.loadUserByUsername("bob");
+
+        // then
+        verify(userRepository, times(3)).findByLogin("bob");
+    }
 }
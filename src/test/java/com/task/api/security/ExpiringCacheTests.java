@@ -0,0 +1,138 @@
+package com.task.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiringCacheTests {
+
+    private MutableClock clock;
+    private ExpiringCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        cache = new ExpiringCache<>(2, clock);
+    }
+
+    @Test
+    void getShouldReturnValueUntilItExpires() {
+        //given
+        cache.put("a", "value", clock.millis() + 1000);
+
+        //when + then
+        assertEquals("value", cache.get("a"));
+        clock.advance(Duration.ofMillis(1000));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldCountHitsAndMisses() {
+        //given
+        cache.put("a", "value", clock.millis() + 1000);
+
+        //when
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        //then
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3, cache.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    void putShouldSweepExpiredEntriesWhenFull() {
+        //given
+        cache.put("a", "1", clock.millis() + 100);
+        cache.put("b", "2", clock.millis() + 1000);
+        clock.advance(Duration.ofMillis(500));
+
+        //when
+        cache.put("c", "3", clock.millis() + 1000);
+
+        //then
+        assertEquals(2, cache.size());
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    void putShouldEvictSoonestExpiringEntryWhenFullOfLiveEntries() {
+        //given
+        cache.put("a", "1", clock.millis() + 2000);
+        cache.put("b", "2", clock.millis() + 1000);
+
+        //when
+        cache.put("c", "3", clock.millis() + 1000);
+
+        //then
+        assertEquals(2, cache.size());
+        assertEquals("3", cache.get("c"));
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void putShouldKeepCachingNewKeysWhileFullOfLiveEntries() {
+        //given
+        ExpiringCache<Integer, Integer> large = new ExpiringCache<>(100, clock);
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            large.put(i, i, clock.millis() + 60_000);
+        }
+
+        //then
+        assertEquals(100, large.size());
+        assertEquals(9_999, large.get(9_999));
+    }
+
+    @Test
+    void invalidateShouldRemoveEntry() {
+        //given
+        cache.put("a", "1", clock.millis() + 1000);
+
+        //when
+        cache.invalidate("a");
+
+        //then
+        assertNull(cache.get("a"));
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
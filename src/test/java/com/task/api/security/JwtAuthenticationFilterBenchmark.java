@@ -0,0 +1,61 @@
+package com.task.api.security;
+
+import com.task.api.metrics.RequestMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures {@link JwtAuthenticationFilter#doFilterInternal} for a request with a valid token, with the real
+ * {@link JwtService} and {@link TokenRevocationService} and mocked stores. Neither store is reached on this
+ * path: the principal comes from the token's claims and a live token misses the revocation Bloom filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    private int verifiedCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain filterChain;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(JwtKeyRing.ephemeral(), verifiedCacheSize);
+        TokenRevocationService tokenRevocationService = new TokenRevocationService(mock(RevokedTokenRepository.class),
+                Duration.ofHours(1), 100000, 0.01, Duration.ofSeconds(30));
+        filter = new JwtAuthenticationFilter(jwtService, mock(CustomUserDetailsService.class), tokenRevocationService,
+                new RequestMetrics(new SimpleMeterRegistry()));
+
+        request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(UUID.randomUUID(), "benchmark"));
+        response = new MockHttpServletResponse();
+        filterChain = (servletRequest, servletResponse) -> { };
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        try {
+            filter.doFilterInternal(request, response, filterChain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.task.api.security;
 
-import com.task.api.user.User;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletResponse;
+import com.task.api.metrics.RequestMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,7 +20,8 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Date;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -33,6 +36,12 @@ public class JwtAuthenticationFilterTests {
     @Mock
     private CustomUserDetailsService userDetailsService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RequestMetrics requestMetrics;
+
     @Mock
     private FilterChain filterChain;
 
@@ -55,7 +64,7 @@ public class JwtAuthenticationFilterTests {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         //then
-        verify(jwtService, never()).extractLogin(anyString());
+        verify(jwtService, never()).extractClaims(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -68,7 +77,7 @@ public class JwtAuthenticationFilterTests {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         //then
-        verify(jwtService, never()).extractLogin(anyString());
+        verify(jwtService, never()).extractClaims(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -79,14 +88,11 @@ public class JwtAuthenticationFilterTests {
         String login = "bob";
         request.addHeader("Authorization", "Bearer " + token);
 
-        User user = new User();
-        user.setLogin(login);
-        user.setPassword("123");
-        user.setItems(List.of());
+        UserPrincipal user = new UserPrincipal(UUID.randomUUID(), login, null, false);
 
-        when(jwtService.extractLogin(token)).thenReturn(login);
-        when(userDetailsService.loadUserByUsername(login)).thenReturn(user);
-        when(jwtService.isTokenValid(token)).thenReturn(true);
+        Claims claims = claims();
+        when(jwtService.extractClaims(token)).thenReturn(claims);
+        when(jwtService.extractPrincipal(claims)).thenReturn(user);
 
         //when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -96,6 +102,30 @@ public class JwtAuthenticationFilterTests {
         assertNotNull(auth);
         assertInstanceOf(UsernamePasswordAuthenticationToken.class, auth);
         assertEquals(user, auth.getPrincipal());
+        verify(jwtService, never()).isTokenValid(anyString());
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldLoadUserWhenTokenHasNoUserId() throws ServletException, IOException {
+        //given
+        String token = "mock-jwt-token";
+        String login = "bob";
+        request.addHeader("Authorization", "Bearer " + token);
+
+        UserPrincipal user = new UserPrincipal(UUID.randomUUID(), login, "123", false);
+
+        Claims claims = claims();
+        when(jwtService.extractClaims(token)).thenReturn(claims);
+        when(jwtService.extractPrincipal(claims)).thenReturn(new UserPrincipal(null, login, null, false));
+        when(userDetailsService.loadUserByUsername(login)).thenReturn(user);
+
+        //when
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        //then
+        assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -105,7 +135,7 @@ public class JwtAuthenticationFilterTests {
         String token = "mock-jwt-token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtService.extractLogin(token)).thenThrow(new ExpiredJwtException(null, null, "Token expired"));
+        when(jwtService.extractClaims(token)).thenThrow(new ExpiredJwtException(null, null, "Token expired"));
 
         //when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -121,13 +151,39 @@ public class JwtAuthenticationFilterTests {
         String token = "mock-jwt-token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtService.extractLogin(token)).thenThrow(new JwtException("Invalid"));
+        when(jwtService.extractClaims(token)).thenThrow(new JwtException("Invalid"));
+
+        //when
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        //then
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void shouldSendUnauthorizedWhenTokenRevoked() throws ServletException, IOException {
+        //given
+        String token = "mock-jwt-token";
+        request.addHeader("Authorization", "Bearer " + token);
+
+        Claims claims = claims();
+        when(jwtService.extractClaims(token)).thenReturn(claims);
+        when(tokenRevocationService.isRevoked(claims.getId(), claims.getExpiration().toInstant())).thenReturn(true);
 
         //when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         //then
         assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain, never()).doFilter(any(), any());
     }
+
+    private static Claims claims() {
+        Claims claims = Jwts.claims();
+        claims.setId(UUID.randomUUID().toString());
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60000));
+        return claims;
+    }
 }
@@ -0,0 +1,71 @@
+package com.task.api.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtKeyRingTests {
+
+    private static final String PASSWORD = "changeit";
+
+    @Test
+    void tokenShouldBeValidOnEveryNodeSharingTheKeystore() throws Exception {
+        //given
+        JwtService node1 = service("jwt/keystore.p12", "hs-2025");
+        JwtService node2 = service("jwt/keystore.p12", "hs-2025");
+        String token = node1.generateToken(UUID.randomUUID(), "bob");
+
+        //when + then
+        assertEquals("bob", node2.extractLogin(token));
+    }
+
+    @Test
+    void tokenSignedWithRetiringKeyShouldStayValidAfterRotation() throws Exception {
+        //given
+        String token = service("jwt/keystore.p12", "hs-2024").generateToken(UUID.randomUUID(), "bob");
+        JwtService rotated = service("jwt/keystore.p12", "hs-2025");
+
+        //when + then
+        assertEquals("bob", rotated.extractLogin(token));
+        assertNotEquals(token, rotated.generateToken(UUID.randomUUID(), "bob"));
+    }
+
+    @Test
+    void es256TokenShouldBeVerifiedByEdgeNodeWithPublicKeyOnly() throws Exception {
+        //given
+        String token = service("jwt/keystore.p12", "es-2025").generateToken(UUID.randomUUID(), "bob");
+        JwtService edge = service("jwt/edge.p12", "");
+
+        //when + then
+        assertEquals("bob", edge.extractLogin(token));
+        assertThrows(IllegalStateException.class, () -> edge.generateToken(UUID.randomUUID(), "bob"));
+    }
+
+    @Test
+    void tokenWithUnknownKeyIdShouldBeRejected() throws Exception {
+        //given
+        String token = new JwtService(JwtKeyRing.ephemeral(), 100).generateToken(UUID.randomUUID(), "bob");
+        JwtService node = service("jwt/keystore.p12", "hs-2025");
+
+        //when + then
+        assertThrows(JwtException.class, () -> node.extractLogin(token));
+    }
+
+    @Test
+    void activeKeyMissingFromKeystoreShouldFailStartup() {
+        //when + then
+        assertThrows(IllegalStateException.class, () -> keyRing("jwt/keystore.p12", "missing"));
+    }
+
+    private static JwtService service(String keystore, String activeKeyId) throws Exception {
+        return new JwtService(keyRing(keystore, activeKeyId), 100);
+    }
+
+    private static JwtKeyRing keyRing(String keystore, String activeKeyId) throws Exception {
+        return new JwtKeyRing(new ClassPathResource(keystore), PASSWORD, activeKeyId);
+    }
+}
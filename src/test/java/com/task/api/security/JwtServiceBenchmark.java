@@ -0,0 +1,48 @@
+package com.task.api.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures issuing and verifying tokens with {@link JwtService}, with and without its verified-token cache
+ * ({@code verifiedCacheSize} 0 verifies the signature on every call).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({"0", "10000"})
+    private int verifiedCacheSize;
+
+    private JwtService jwtService;
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(JwtKeyRing.ephemeral(), verifiedCacheSize);
+        userId = UUID.randomUUID();
+        token = jwtService.generateToken(userId, "benchmark");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userId, "benchmark");
+    }
+
+    @Benchmark
+    public String extractLogin() {
+        return jwtService.extractLogin(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token);
+    }
+}
@@ -1,9 +1,15 @@
 package com.task.api.security;
 
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Date;
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class JwtServiceTests {
@@ -12,7 +18,7 @@ public class JwtServiceTests {
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
+        jwtService = new JwtService(JwtKeyRing.ephemeral(), 100);
     }
 
     @Test
@@ -21,7 +27,7 @@ public class JwtServiceTests {
         String login = "bob";
 
         //when
-        String token = jwtService.generateToken(login);
+        String token = jwtService.generateToken(UUID.randomUUID(), login);
 
         //then
         assertNotNull(token);
@@ -32,7 +38,7 @@ public class JwtServiceTests {
     void extractLoginShouldReturnCorrectLogin() {
         //given
         String login = "bob";
-        String token = jwtService.generateToken(login);
+        String token = jwtService.generateToken(UUID.randomUUID(), login);
 
         //when
         String extractedLogin = jwtService.extractLogin(token);
@@ -41,10 +47,41 @@ public class JwtServiceTests {
         assertEquals(login, extractedLogin);
     }
 
+    @Test
+    void extractPrincipalShouldReturnLoginAndUserId() {
+        //given
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.generateToken(userId, "bob");
+
+        //when
+        UserPrincipal principal = jwtService.extractPrincipal(token);
+
+        //then
+        assertEquals(userId, principal.getId());
+        assertEquals("bob", principal.getLogin());
+    }
+
+    @Test
+    void extractPrincipalShouldRejectMalformedUserId() {
+        //given
+        JwtKeyRing keyRing = JwtKeyRing.ephemeral();
+        jwtService = new JwtService(keyRing, 100);
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKeyId())
+                .setSubject("bob")
+                .claim("uid", "not-a-uuid")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyRing.getSigningKey())
+                .compact();
+
+        //when + then
+        assertThrows(MalformedJwtException.class, () -> jwtService.extractPrincipal(token));
+    }
+
     @Test
     void isTokenValidShouldReturnTrueForValidToken() {
         //given
-        String token = jwtService.generateToken("bob");
+        String token = jwtService.generateToken(UUID.randomUUID(), "bob");
 
         //when + then
         assertTrue(jwtService.isTokenValid(token));
@@ -67,4 +104,50 @@ public class JwtServiceTests {
         //when + then
         assertThrows(JwtException.class, () -> jwtService.extractLogin(invalidToken));
     }
+
+    @Test
+    void repeatedTokenShouldBeServedFromVerifiedCache() {
+        //given
+        String token = jwtService.generateToken(UUID.randomUUID(), "bob");
+
+        //when
+        jwtService.extractLogin(token);
+        jwtService.isTokenValid(token);
+        jwtService.extractLogin(token);
+
+        //then
+        assertEquals(1, jwtService.getVerifiedTokens().getMissCount());
+        assertEquals(2, jwtService.getVerifiedTokens().getHitCount());
+        assertEquals(1, jwtService.getVerifiedTokens().size());
+    }
+
+    @Test
+    void invalidTokenShouldNotBeCached() {
+        //given
+        String invalidToken = "mock-jwt-token";
+
+        //when
+        jwtService.isTokenValid(invalidToken);
+
+        //then
+        assertEquals(0, jwtService.getVerifiedTokens().size());
+    }
+
+    @Test
+    void tokenWithoutExpirationShouldBeRejected() {
+        //given
+        JwtKeyRing keyRing = JwtKeyRing.ephemeral();
+        jwtService = new JwtService(keyRing, 100);
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKeyId())
+                .setSubject("bob")
+                .setId(UUID.randomUUID().toString())
+                .signWith(keyRing.getSigningKey())
+                .compact();
+
+        //when + then
+        assertThrows(JwtException.class, () -> jwtService.extractClaims(token));
+        assertFalse(jwtService.isTokenValid(token));
+        assertEquals(0, jwtService.getVerifiedTokens().size());
+    }
 }
@@ -0,0 +1,106 @@
+package com.task.api.security;
+
+import com.task.api.common.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PasswordHasherTests {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        passwordHasher = new PasswordHasher(passwordEncoder, 1, 1, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    @Test
+    void encodeAndMatchShouldDelegateToEncoder() {
+        //given
+        when(passwordEncoder.encode("123")).thenReturn("encoded");
+        when(passwordEncoder.matches("123", "encoded")).thenReturn(true);
+
+        //when + then
+        assertEquals("encoded", passwordHasher.encode("123"));
+        assertTrue(passwordHasher.matches("123", "encoded"));
+        assertEquals(2, passwordHasher.getHashCount());
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        //given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode("slow")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "encoded";
+        });
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("slow"));
+        while (passwordHasher.getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        //when
+        ServiceBusyException exception = assertThrows(ServiceBusyException.class, () -> passwordHasher.encode("other"));
+
+        //then
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+        assertEquals(1, passwordHasher.getRejectedCount());
+        release.countDown();
+        assertEquals("encoded", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void asyncShouldFailWithServiceBusyWhenQueueIsFull() throws Exception {
+        //given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode("slow")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "encoded";
+        });
+
+        CompletableFuture<String> running = passwordHasher.encodeAsync("slow");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = passwordHasher.encodeAsync("slow");
+
+        //when
+        CompletableFuture<Boolean> rejected = passwordHasher.matchesAsync("other", "encoded");
+
+        //then
+        ExecutionException exception = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(ServiceBusyException.class, exception.getCause());
+        assertEquals(1, passwordHasher.getRejectedCount());
+        release.countDown();
+        assertEquals("encoded", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded", queued.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,52 @@
+package com.task.api.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the hot-path revocation check of {@link TokenRevocationService} for tokens that were not revoked,
+ * with the Bloom filter of the window holding {@code revokedTokens} entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int revokedTokens;
+
+    private TokenRevocationService tokenRevocationService;
+    private String[] liveTokenIds;
+    private Instant expiresAt;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tokenRevocationService = new TokenRevocationService(mock(RevokedTokenRepository.class),
+                Duration.ofHours(1), 100000, 0.01, Duration.ofSeconds(30));
+        expiresAt = Instant.now().plus(Duration.ofMinutes(30));
+        for (int i = 0; i < revokedTokens; i++) {
+            tokenRevocationService.revoke(UUID.randomUUID().toString(), expiresAt);
+        }
+        liveTokenIds = new String[1024];
+        for (int i = 0; i < liveTokenIds.length; i++) {
+            liveTokenIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public void isRevokedForLiveToken(Blackhole blackhole) {
+        String tokenId = liveTokenIds[next++ & (liveTokenIds.length - 1)];
+        blackhole.consume(tokenRevocationService.isRevoked(tokenId, expiresAt));
+    }
+}
@@ -0,0 +1,113 @@
+package com.task.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationServiceTests {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private ExpiringCacheTests.MutableClock clock;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new ExpiringCacheTests.MutableClock(Instant.parse("2025-01-01T00:10:00Z"));
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, Duration.ofHours(1), 1000, 0.01,
+                Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void isRevokedShouldNotQueryStoreForUnknownToken() {
+        //when + then
+        assertFalse(tokenRevocationService.isRevoked("token-id", clock.instant().plusSeconds(600)));
+        verify(revokedTokenRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void revokedTokenShouldBeConfirmedByStore() {
+        //given
+        Instant expiresAt = clock.instant().plusSeconds(600);
+        when(revokedTokenRepository.existsById("token-id")).thenReturn(true);
+
+        //when
+        tokenRevocationService.revoke("token-id", expiresAt);
+
+        //then
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        assertTrue(tokenRevocationService.isRevoked("token-id", expiresAt));
+    }
+
+    @Test
+    void revokeShouldIgnoreExpiredToken() {
+        //when
+        tokenRevocationService.revoke("token-id", clock.instant().minusSeconds(1));
+
+        //then
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void refreshShouldLoadRevocationsOfOtherNodes() {
+        //given
+        Instant expiresAt = clock.instant().plusSeconds(600);
+        when(revokedTokenRepository.findByExpiresAtAfterAndRevokedAtAfter(any(), any()))
+                .thenReturn(List.of(new RevokedToken("token-id", expiresAt, clock.instant())));
+        when(revokedTokenRepository.existsById("token-id")).thenReturn(true);
+
+        //when
+        tokenRevocationService.refresh();
+
+        //then
+        assertTrue(tokenRevocationService.isRevoked("token-id", expiresAt));
+    }
+
+    @Test
+    void refreshShouldResumeFromLatestStoredRevocationRegardlessOfNodeClock() {
+        //given
+        Instant expiresAt = clock.instant().plusSeconds(600);
+        Instant revokedAt = clock.instant().minusSeconds(120);
+        when(revokedTokenRepository.findByExpiresAtAfterAndRevokedAtAfter(any(), any()))
+                .thenReturn(List.of(new RevokedToken("token-id", expiresAt, revokedAt)));
+        tokenRevocationService.refresh();
+        clock.advance(Duration.ofMinutes(5));
+
+        //when
+        tokenRevocationService.refresh();
+
+        //then
+        verify(revokedTokenRepository).findByExpiresAtAfterAndRevokedAtAfter(clock.instant(),
+                revokedAt.minusSeconds(30));
+    }
+
+    @Test
+    void refreshShouldDropFiltersOfExpiredWindows() {
+        //given
+        Instant expiresAt = clock.instant().plusSeconds(600);
+        tokenRevocationService.revoke("token-id", expiresAt);
+        clock.advance(Duration.ofHours(1));
+
+        //when
+        tokenRevocationService.refresh();
+
+        //then
+        verify(revokedTokenRepository).deleteExpired(clock.instant());
+        assertFalse(tokenRevocationService.isRevoked("token-id", expiresAt));
+        verify(revokedTokenRepository, never()).existsById(anyString());
+    }
+}
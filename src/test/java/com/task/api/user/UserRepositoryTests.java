@@ -0,0 +1,73 @@
+package com.task.api.user;
+
+import com.task.api.items.Item;
+import com.task.api.items.ItemStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class UserRepositoryTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID ownerId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setLogin("bob");
+        owner.setPassword("encoded");
+        ownerId = entityManager.persist(owner).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void applyItemsChangeShouldUpdateVersionAndCountWithinMaximum() {
+        //when
+        int applied = userRepository.applyItemsChange(ownerId, 2, 2);
+        int rejected = userRepository.applyItemsChange(ownerId, 1, 2);
+
+        //then
+        assertEquals(1, applied);
+        assertEquals(0, rejected);
+        assertEquals(new ItemStats(1, 2L), userRepository.findItemStatsById(ownerId).orElseThrow());
+    }
+
+    @Test
+    void initItemCountShouldCountExistingItemsOfOwnerWithoutCount() {
+        //given
+        User owner = entityManager.find(User.class, ownerId);
+        for (int i = 0; i < 3; i++) {
+            Item item = new Item();
+            item.setOwner(owner);
+            item.setName("item" + i);
+            entityManager.persist(item);
+        }
+        owner.setItemCount(null);
+        entityManager.flush();
+        entityManager.clear();
+
+        //when
+        int missing = userRepository.applyItemsChange(ownerId, 1, 10);
+        int counted = userRepository.initItemCount(ownerId);
+        int recounted = userRepository.initItemCount(ownerId);
+
+        //then
+        assertEquals(0, missing);
+        assertEquals(1, counted);
+        assertEquals(0, recounted);
+        assertEquals(new ItemStats(0, 3L), userRepository.findItemStatsById(ownerId).orElseThrow());
+    }
+}